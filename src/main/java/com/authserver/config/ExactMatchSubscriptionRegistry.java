@@ -0,0 +1,111 @@
+package com.authserver.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.broker.AbstractSubscriptionRegistry;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 목적지 완전 일치 색인 기반 STOMP 구독 저장소
+ *
+ * 클라이언트는 /sub/queue-status-user{sessionId}(사용자 목적지 변환 결과), /sub/rides/{rideId}/info 처럼 구체적인 목적지만 구독하므로
+ * 목적지 -> (세션 -> 구독 ID) 맵으로 바로 찾습니다. 와일드카드 구독만 별도 목록에서 패턴 매칭합니다.
+ * 기본 저장소와 달리 selector 헤더는 지원하지 않으며, selector가 있는 구독은 StompAuthenticationInterceptor에서 거부됩니다.
+ * 이 저장소는 브로커 전송 대상 조회만 담당하며, 구독자 유무 확인은 LiveSubscriptionRegistry 한 곳에서만 합니다.
+ */
+public class ExactMatchSubscriptionRegistry extends AbstractSubscriptionRegistry {
+
+    private static final MultiValueMap<String, String> EMPTY =
+            CollectionUtils.unmodifiableMultiValueMap(new LinkedMultiValueMap<>());
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    // 목적지 -> 세션 ID -> 구독 ID 목록
+    private final Map<String, Map<String, List<String>>> exactIndex = new ConcurrentHashMap<>();
+
+    // 패턴 목적지 -> 세션 ID -> 구독 ID 목록
+    private final Map<String, Map<String, List<String>>> patternIndex = new ConcurrentHashMap<>();
+
+    // 세션 ID -> 구독 ID -> 목적지 (구독 해제/연결 종료용 역색인)
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    protected void addSubscriptionInternal(String sessionId, String subscriptionId, String destination, Message<?> message) {
+        sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>()).put(subscriptionId, destination);
+        // 빈 목적지 정리(removeFromIndex)와 겹치지 않도록 목적지 단위로 원자적으로 추가
+        indexOf(destination).compute(destination, (d, subscribers) -> {
+            Map<String, List<String>> target = subscribers != null ? subscribers : new ConcurrentHashMap<>();
+            target.computeIfAbsent(sessionId, id -> new CopyOnWriteArrayList<>()).add(subscriptionId);
+            return target;
+        });
+    }
+
+    @Override
+    protected void removeSubscriptionInternal(String sessionId, String subscriptionId, Message<?> message) {
+        Map<String, String> subscriptions = sessions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            removeFromIndex(sessionId, subscriptionId, destination);
+        }
+    }
+
+    @Override
+    public void unregisterAllSubscriptions(String sessionId) {
+        Map<String, String> subscriptions = sessions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.forEach((subscriptionId, destination) -> removeFromIndex(sessionId, subscriptionId, destination));
+        }
+    }
+
+    @Override
+    protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
+        Map<String, List<String>> exact = exactIndex.get(destination);
+        if (patternIndex.isEmpty()) {
+            return exact == null ? EMPTY : CollectionUtils.unmodifiableMultiValueMap(CollectionUtils.toMultiValueMap(exact));
+        }
+
+        MultiValueMap<String, String> result = new LinkedMultiValueMap<>();
+        if (exact != null) {
+            exact.forEach(result::addAll);
+        }
+        patternIndex.forEach((pattern, subscribers) -> {
+            if (pathMatcher.match(pattern, destination)) {
+                subscribers.forEach(result::addAll);
+            }
+        });
+        return result;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public int getDestinationCount() {
+        return exactIndex.size() + patternIndex.size();
+    }
+
+    private Map<String, Map<String, List<String>>> indexOf(String destination) {
+        return pathMatcher.isPattern(destination) ? patternIndex : exactIndex;
+    }
+
+    private void removeFromIndex(String sessionId, String subscriptionId, String destination) {
+        indexOf(destination).computeIfPresent(destination, (d, subscribers) -> {
+            subscribers.computeIfPresent(sessionId, (id, subscriptionIds) -> {
+                subscriptionIds.remove(subscriptionId);
+                return subscriptionIds.isEmpty() ? null : subscriptionIds;
+            });
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+}
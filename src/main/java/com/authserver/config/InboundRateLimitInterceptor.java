@@ -0,0 +1,73 @@
+package com.authserver.config;
+
+import com.authserver.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세션별 /pub 프레임 수신 속도 제한
+ *
+ * 세션마다 토큰 버킷을 두고 /pub 목적지로 오는 SEND/SUBSCRIBE 프레임마다 토큰을 하나 씁니다.
+ * 토큰이 없으면 프레임을 버리고 websocket.inbound.rate-limited 카운터를 올립니다.
+ */
+@Component
+public class InboundRateLimitInterceptor implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(InboundRateLimitInterceptor.class);
+    private static final String APPLICATION_PREFIX = "/pub";
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Counter rateLimitedCounter;
+
+    @Value("${websocket.inbound.rate-limit.burst:20}")
+    private int burst;
+
+    @Value("${websocket.inbound.rate-limit.per-second:5}")
+    private double perSecond;
+
+    public InboundRateLimitInterceptor(MeterRegistry meterRegistry) {
+        this.rateLimitedCounter = Counter.builder("websocket.inbound.rate-limited")
+                .description("세션별 수신 속도 제한으로 버린 /pub 프레임 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        if (messageType != SimpMessageType.MESSAGE && messageType != SimpMessageType.SUBSCRIBE) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (destination == null || sessionId == null || !destination.startsWith(APPLICATION_PREFIX)) {
+            return message;
+        }
+
+        TokenBucket bucket = buckets.computeIfAbsent(sessionId, id -> new TokenBucket(burst, perSecond));
+        if (bucket.tryAcquire()) {
+            return message;
+        }
+        rateLimitedCounter.increment();
+        logger.debug("수신 속도 제한 초과로 프레임 무시 - sessionId={}, destination={}", sessionId, destination);
+        return null;
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        buckets.remove(event.getSessionId());
+    }
+}
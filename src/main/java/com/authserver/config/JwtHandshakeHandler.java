@@ -0,0 +1,120 @@
+package com.authserver.config;
+
+import com.authserver.util.JwtUtil;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeFailureException;
+import org.springframework.web.socket.server.RequestUpgradeStrategy;
+import org.springframework.web.socket.server.standard.TomcatRequestUpgradeStrategy;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebSocket 핸드셰이크 시 ACCESS_TOKEN 쿠키를 한 번 검증하여 세션에 사용자를 바인딩
+ *
+ * 쿠키가 없거나 유효하지 않으면 익명 세션으로 연결되며, 이 경우 STOMP CONNECT의 Authorization 헤더로
+ * 인증할 수 있습니다 (StompAuthenticationInterceptor). 익명 세션은 공개 채널만 구독할 수 있습니다.
+ *
+ * Tomcat은 클라이언트가 요청하면 permessage-deflate를 자체적으로 협상하므로(Spring의 확장 목록과 무관),
+ * 압축을 끌 때는 업그레이드 요청에서 Sec-WebSocket-Extensions 헤더를 숨깁니다.
+ */
+public class JwtHandshakeHandler extends DefaultHandshakeHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtHandshakeHandler.class);
+    private static final String ACCESS_TOKEN_COOKIE_NAME = "ACCESS_TOKEN";
+    private static final String EXTENSIONS_HEADER = "Sec-WebSocket-Extensions";
+
+    private final JwtUtil jwtUtil;
+
+    public JwtHandshakeHandler(JwtUtil jwtUtil, boolean compressionEnabled) {
+        super(compressionEnabled
+                ? new TomcatRequestUpgradeStrategy()
+                : new ExtensionlessUpgradeStrategy(new TomcatRequestUpgradeStrategy()));
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String accessToken = extractTokenFromCookie(request);
+        if (accessToken == null) {
+            return null;
+        }
+        try {
+            jwtUtil.validateToken(accessToken);
+            return new StompUserPrincipal(jwtUtil.getUserIdFromToken(accessToken));
+        } catch (Exception e) {
+            logger.debug("WebSocket 핸드셰이크 토큰 검증 실패, 익명으로 연결 - {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String extractTokenFromCookie(ServerHttpRequest request) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return null;
+        }
+        Cookie[] cookies = servletRequest.getServletRequest().getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (ACCESS_TOKEN_COOKIE_NAME.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 확장 협상 헤더를 숨기고 업그레이드를 위임하는 전략 (permessage-deflate 비활성화용)
+     */
+    private static final class ExtensionlessUpgradeStrategy implements RequestUpgradeStrategy {
+
+        private final RequestUpgradeStrategy delegate;
+
+        private ExtensionlessUpgradeStrategy(RequestUpgradeStrategy delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String[] getSupportedVersions() {
+            return delegate.getSupportedVersions();
+        }
+
+        @Override
+        public List<WebSocketExtension> getSupportedExtensions(ServerHttpRequest request) {
+            return List.of();
+        }
+
+        @Override
+        public void upgrade(ServerHttpRequest request, ServerHttpResponse response, String selectedProtocol,
+                            List<WebSocketExtension> selectedExtensions, Principal user,
+                            WebSocketHandler wsHandler, Map<String, Object> attributes) throws HandshakeFailureException {
+            if (request instanceof ServletServerHttpRequest servletRequest) {
+                request = new ServletServerHttpRequest(new HttpServletRequestWrapper(servletRequest.getServletRequest()) {
+                    @Override
+                    public String getHeader(String name) {
+                        return EXTENSIONS_HEADER.equalsIgnoreCase(name) ? null : super.getHeader(name);
+                    }
+
+                    @Override
+                    public Enumeration<String> getHeaders(String name) {
+                        return EXTENSIONS_HEADER.equalsIgnoreCase(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+                    }
+                });
+            }
+            delegate.upgrade(request, response, selectedProtocol, List.of(), user, wsHandler, attributes);
+        }
+    }
+}
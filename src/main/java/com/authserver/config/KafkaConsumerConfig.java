@@ -0,0 +1,58 @@
+package com.authserver.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.Map;
+
+/**
+ * Kafka 소비 설정
+ * 대기열 이벤트는 원본 바이트를 배치로 받아 서비스에서 직접 역직렬화합니다.
+ * 파티션별 소비 지연(records-lag 등)은 Kafka 클라이언트 지표를 Micrometer로 내보냅니다.
+ * 오프셋은 배치 처리(전송)가 끝날 때마다 동기 커밋하며, 리밸런스로 파티션을 내줄 때도 처리한 배치까지 커밋한 뒤 넘기므로
+ * 새로 파티션을 받은 인스턴스가 이미 전송한 알림을 다시 읽지 않습니다.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Value("${queue.event.max-poll-records:500}")
+    private int maxPollRecords;
+
+    // 컨테이너 스레드 수 (파티션 수 이하로 설정)
+    @Value("${queue.event.concurrency:3}")
+    private int concurrency;
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> queueEventBatchContainerFactory(
+            KafkaProperties kafkaProperties, ObjectProvider<SslBundles> sslBundles, MeterRegistry meterRegistry) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        // 자동 커밋은 전송 전 오프셋을 커밋하거나 전송한 오프셋을 늦게 커밋하므로 사용하지 않음
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        DefaultKafkaConsumerFactory<String, byte[]> consumerFactory = new DefaultKafkaConsumerFactory<>(props);
+        consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.getContainerProperties().setSyncCommits(true);
+        return factory;
+    }
+}
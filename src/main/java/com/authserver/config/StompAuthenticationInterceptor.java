@@ -0,0 +1,91 @@
+package com.authserver.config;
+
+import com.authserver.util.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * STOMP 인증/구독 권한 검사
+ *
+ * CONNECT: 핸드셰이크에서 사용자가 정해지지 않았으면 Authorization: Bearer {accessToken} 헤더로 한 번 인증
+ * SUBSCRIBE: 허용 목록에 있는 목적지만 구독 가능, 개인 채널은 /user/sub/queue-status 로만 구독 (인증 필요)
+ *            사용자 목적지 변환 결과(/sub/queue-status-user{sessionId})처럼 다른 사용자의 알림을 엿볼 수 있는 목적지는 모두 거부
+ *            구독 저장소(ExactMatchSubscriptionRegistry)가 selector 헤더를 지원하지 않으므로 selector가 있는 구독도 거부
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String USER_QUEUE_STATUS_DESTINATION = "/user/sub/queue-status";
+    private static final String SELECTOR_HEADER = "selector";
+
+    // 구독 가능한 공개 목적지와 스냅샷(@SubscribeMapping) 목적지
+    private static final List<Pattern> PUBLIC_SUBSCRIBE_DESTINATIONS = List.of(
+            Pattern.compile("^/sub/rides/minutes$"),
+            Pattern.compile("^/sub/rides/\\d{1,18}/info$"),
+            Pattern.compile("^/sub/waiting-room/\\d{1,18}$"),
+            Pattern.compile("^/pub/rides/minutes/snapshot$"),
+            Pattern.compile("^/pub/rides/\\d{1,18}/info/snapshot$")
+    );
+
+    private final JwtUtil jwtUtil;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (accessor.getCommand() == StompCommand.CONNECT && accessor.getUser() == null) {
+            String authorization = accessor.getFirstNativeHeader(AUTHORIZATION_HEADER);
+            if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+                String accessToken = authorization.substring(BEARER_PREFIX.length());
+                try {
+                    jwtUtil.validateToken(accessToken);
+                    accessor.setUser(new StompUserPrincipal(jwtUtil.getUserIdFromToken(accessToken)));
+                } catch (Exception e) {
+                    throw new MessageDeliveryException("Invalid access token");
+                }
+            }
+        } else if (accessor.getCommand() == StompCommand.SUBSCRIBE) {
+            String destination = accessor.getDestination();
+            // 조용히 무시하면 클라이언트가 걸러지지 않은 메시지를 받으므로 명시적으로 거부
+            if (accessor.getFirstNativeHeader(SELECTOR_HEADER) != null) {
+                throw new MessageDeliveryException("Subscription selectors are not supported: " + destination);
+            }
+            if (USER_QUEUE_STATUS_DESTINATION.equals(destination)) {
+                if (accessor.getUser() == null) {
+                    throw new MessageDeliveryException("Authentication required for " + destination);
+                }
+            } else if (!isPublicDestination(destination)) {
+                throw new MessageDeliveryException("Subscription not allowed: " + destination);
+            }
+        }
+        return message;
+    }
+
+    private static boolean isPublicDestination(String destination) {
+        if (destination == null) {
+            return false;
+        }
+        for (Pattern pattern : PUBLIC_SUBSCRIBE_DESTINATIONS) {
+            if (pattern.matcher(destination).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
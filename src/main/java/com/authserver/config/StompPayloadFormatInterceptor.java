@@ -0,0 +1,107 @@
+package com.authserver.config;
+
+import com.authserver.util.CborPayload;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세션별 payload 형식 선택 (JSON 텍스트 프레임 / CBOR 바이너리 프레임)
+ *
+ * CONNECT 프레임에 payload-format: cbor 헤더를 보낸 세션에는 MESSAGE payload를 CBOR로 변환하여
+ * 바이너리 프레임(content-type: application/octet-stream, payload-format: cbor)으로 전송합니다.
+ * 브로드캐스트 메시지는 CborPayload 헤더로 변환 결과를 공유하므로 payload당 한 번만 변환합니다.
+ * 세션별 전송 크기는 websocket.outbound.payload.size{format=json|cbor}로 기록합니다.
+ */
+@Component
+public class StompPayloadFormatInterceptor implements ChannelInterceptor {
+
+    public static final String PAYLOAD_FORMAT_HEADER = "payload-format";
+    public static final String CBOR_PAYLOAD_HEADER = "cborPayload";
+    private static final String CBOR = "cbor";
+
+    // CBOR를 선택한 세션 ID
+    private final Set<String> cborSessions = ConcurrentHashMap.newKeySet();
+
+    private final DistributionSummary jsonPayloadSize;
+    private final DistributionSummary cborPayloadSize;
+    private final Timer transcodeTimer;
+
+    public StompPayloadFormatInterceptor(MeterRegistry meterRegistry) {
+        this.jsonPayloadSize = payloadSize(meterRegistry, "json");
+        this.cborPayloadSize = payloadSize(meterRegistry, CBOR);
+        this.transcodeTimer = Timer.builder("websocket.outbound.payload.transcode")
+                .description("세션 전송 시 CBOR payload를 얻는 데 걸린 시간 (공유 변환 결과 재사용 포함)")
+                .register(meterRegistry);
+    }
+
+    private static DistributionSummary payloadSize(MeterRegistry meterRegistry, String format) {
+        return DistributionSummary.builder("websocket.outbound.payload.size")
+                .description("세션별로 전송한 MESSAGE payload 크기 (압축 전)")
+                .baseUnit("bytes")
+                .tag("format", format)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        if (messageType == SimpMessageType.CONNECT) {
+            rememberFormat(message);
+            return message;
+        }
+        if (messageType != SimpMessageType.MESSAGE || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null || !cborSessions.contains(sessionId)) {
+            jsonPayloadSize.record(json.length);
+            return message;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        if (!MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(accessor.getContentType())) {
+            return message;
+        }
+        Object shared = accessor.getHeader(CBOR_PAYLOAD_HEADER);
+        CborPayload cborPayload = shared instanceof CborPayload payload ? payload : new CborPayload(json);
+        byte[] cbor = transcodeTimer.record(cborPayload::bytes);
+        cborPayloadSize.record(cbor.length);
+
+        // application/octet-stream이어야 바이너리 프레임으로 전송됨
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(PAYLOAD_FORMAT_HEADER, CBOR);
+        return MessageBuilder.createMessage(cbor, accessor.getMessageHeaders());
+    }
+
+    private void rememberFormat(Message<?> message) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getSessionId() == null) {
+            return;
+        }
+        if (CBOR.equalsIgnoreCase(accessor.getFirstNativeHeader(PAYLOAD_FORMAT_HEADER))) {
+            cborSessions.add(accessor.getSessionId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        cborSessions.remove(event.getSessionId());
+    }
+}
@@ -0,0 +1,15 @@
+package com.authserver.config;
+
+import java.security.Principal;
+
+/**
+ * ACCESS_TOKEN으로 인증된 WebSocket 세션의 사용자
+ * 이름은 사용자 ID 문자열이며, 사용자 목적지(/user/...)의 세션 조회 키로 사용됩니다.
+ */
+public record StompUserPrincipal(Long userId) implements Principal {
+
+    @Override
+    public String getName() {
+        return String.valueOf(userId);
+    }
+}
@@ -1,24 +1,103 @@
 package com.authserver.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * WebClient 설정
+ *
+ * queue.server.codec 값으로 대기열 서버와의 인코딩을 선택합니다.
+ * - json (기본값): 기존과 동일한 JSON 텍스트
+ * - cbor / smile: 본문이 있는 요청(POST/PUT/PATCH)만 바이너리로 보내고, 응답은 바이너리를 우선 요청하되 JSON도 허용
+ * 응답 디코딩은 Content-Type으로 결정되므로 대기열 서버가 JSON으로 응답해도 그대로 처리됩니다.
+ * 대기열 서버가 바이너리 본문을 415로 거절하면 같은 요청을 JSON으로 다시 보내고, 이후 요청도 JSON으로 보냅니다.
  */
 @Configuration
 public class WebClientConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(WebClientConfig.class);
+    private static final Set<HttpMethod> BODY_METHODS = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH);
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     @Value("${queue.server.url}")
     private String queueServerUrl;
 
+    @Value("${queue.server.codec:json}")
+    private String queueServerCodec;
+
     @Bean
     public WebClient queueWebClient() {
-        return WebClient.builder()
+        WebClient.Builder builder = WebClient.builder()
                 .baseUrl(queueServerUrl)
+                .codecs(configurer -> {
+                    configurer.customCodecs().register(new Jackson2CborEncoder());
+                    configurer.customCodecs().register(new Jackson2CborDecoder());
+                    configurer.customCodecs().register(new Jackson2SmileEncoder());
+                    configurer.customCodecs().register(new Jackson2SmileDecoder());
+                });
+
+        MediaType binaryType = switch (queueServerCodec.toLowerCase()) {
+            case "cbor" -> MediaType.APPLICATION_CBOR;
+            case "smile" -> APPLICATION_SMILE;
+            case "json" -> null;
+            default -> throw new IllegalArgumentException("지원하지 않는 queue.server.codec 값입니다: " + queueServerCodec);
+        };
+
+        if (binaryType != null) {
+            builder.defaultHeaders(headers ->
+                    headers.set(HttpHeaders.ACCEPT, binaryType + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.5"));
+            builder.filter(binaryBody(binaryType));
+        }
+
+        return builder.build();
+    }
+
+    // 본문이 있는 요청에만 바이너리 Content-Type 지정, 415 응답이면 JSON으로 한 번 더 보내고 이후로는 JSON 사용
+    private static ExchangeFilterFunction binaryBody(MediaType binaryType) {
+        AtomicBoolean binaryRejected = new AtomicBoolean();
+        return (request, next) -> {
+            if (!BODY_METHODS.contains(request.method()) || request.headers().getContentType() != null) {
+                return next.exchange(request);
+            }
+            if (binaryRejected.get()) {
+                return next.exchange(withContentType(request, MediaType.APPLICATION_JSON));
+            }
+            return next.exchange(withContentType(request, binaryType))
+                    .flatMap(response -> {
+                        if (response.statusCode().value() != HttpStatus.UNSUPPORTED_MEDIA_TYPE.value()) {
+                            return Mono.just(response);
+                        }
+                        if (binaryRejected.compareAndSet(false, true)) {
+                            logger.warn("대기열 서버가 {} 본문을 지원하지 않아 JSON으로 전환합니다 - {} {}",
+                                    binaryType, request.method(), request.url());
+                        }
+                        return response.releaseBody()
+                                .then(next.exchange(withContentType(request, MediaType.APPLICATION_JSON)));
+                    });
+        };
+    }
+
+    private static ClientRequest withContentType(ClientRequest request, MediaType contentType) {
+        return ClientRequest.from(request)
+                .headers(headers -> headers.setContentType(contentType))
                 .build();
     }
 }
-
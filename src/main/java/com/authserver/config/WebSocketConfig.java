@@ -1,28 +1,176 @@
 package com.authserver.config;
 
+import com.authserver.util.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * WebSocket 설정
+ *
+ * 내장 브로커의 구독 저장소를 목적지 완전 일치 색인(ExactMatchSubscriptionRegistry)으로 교체하고,
+ * 수신/송신 채널 스레드 풀과 세션별 송신 버퍼 한도를 설정값으로 조정할 수 있게 합니다.
+ * 송신은 세션 단위로 순서를 보장하면서(preservePublishOrder) 송신 스레드들에 나눠 처리됩니다.
+ *
+ * 세션 사용자는 핸드셰이크(ACCESS_TOKEN 쿠키) 또는 STOMP CONNECT(Authorization 헤더)에서 한 번 인증되며,
+ * 개인 알림은 /user/sub/queue-status 사용자 목적지로 해당 사용자의 세션에만 전달됩니다.
+ * 프레임은 permessage-deflate로 압축할 수 있고, 세션별로 CBOR 바이너리 payload를 선택할 수 있습니다.
+ *
+ * 하트비트로 끊긴 연결을 정리하고, /pub 프레임은 세션별 토큰 버킷으로 수신 속도를 제한합니다.
+ * 미전송 바이트나 전송 시간이 한도를 넘은 느린 세션은 강제 종료됩니다(WebSocketSessionMonitor).
  */
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    private final JwtUtil jwtUtil;
+    private final StompAuthenticationInterceptor stompAuthenticationInterceptor;
+    private final StompPayloadFormatInterceptor stompPayloadFormatInterceptor;
+    private final InboundRateLimitInterceptor inboundRateLimitInterceptor;
+    private final WebSocketSessionMonitor webSocketSessionMonitor;
+
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    // 클라이언트가 요청하면 permessage-deflate 확장 협상 (끄면 CPU 대신 대역폭 사용)
+    @Value("${websocket.compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    // 스레드 수 설정이 0이면 CPU 코어 수 기준으로 자동 결정 (수신 x2, 송신 x4)
+    @Value("${websocket.inbound.core-pool-size:0}")
+    private int inboundCorePoolSize;
+
+    @Value("${websocket.inbound.max-pool-size:0}")
+    private int inboundMaxPoolSize;
+
+    @Value("${websocket.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${websocket.outbound.core-pool-size:0}")
+    private int outboundCorePoolSize;
+
+    @Value("${websocket.outbound.max-pool-size:0}")
+    private int outboundMaxPoolSize;
+
+    // 송신 채널 전체 대기 작업 한도 (QueueEventBackpressureMonitor의 high-watermark보다 커야 함)
+    @Value("${websocket.outbound.queue-capacity:100000}")
+    private int outboundQueueCapacity;
+
+    // 세션별 송신 버퍼 한도: 느린 클라이언트의 미전송 메시지가 이 크기/시간을 넘으면 세션 종료
+    @Value("${websocket.session.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.session.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    // 수신 STOMP 메시지 최대 크기 (클라이언트는 작은 SEND/SUBSCRIBE 프레임만 보냄)
+    @Value("${websocket.session.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    // 연결 후 첫 STOMP 프레임(CONNECT)을 기다리는 시간
+    @Value("${websocket.session.time-to-first-message-ms:30000}")
+    private int timeToFirstMessageMs;
+
+    // 서버 -> 클라이언트, 클라이언트 -> 서버 하트비트 간격 (0이면 사용 안 함)
+    @Value("${websocket.heartbeat.server-ms:10000}")
+    private long serverHeartbeatMs;
+
+    @Value("${websocket.heartbeat.client-ms:10000}")
+    private long clientHeartbeatMs;
+
+    /**
+     * 브로커 하트비트용 스케줄러 (이 설정이 만드는 빈이라 순환 참조를 피하기 위해 지연 주입)
+     */
+    @Autowired
+    public void setMessageBrokerTaskScheduler(@Lazy TaskScheduler messageBrokerTaskScheduler) {
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/sub");
+        config.enableSimpleBroker("/sub")
+                .setHeartbeatValue(new long[]{serverHeartbeatMs, clientHeartbeatMs})
+                .setTaskScheduler(messageBrokerTaskScheduler);
         config.setApplicationDestinationPrefixes("/pub");
+        config.setUserDestinationPrefix("/user");
+        config.setPreservePublishOrder(true);
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws/queue")
+                .setHandshakeHandler(new JwtHandshakeHandler(jwtUtil, compressionEnabled))
                 .setAllowedOriginPatterns("*");
     }
-}
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        int corePoolSize = poolSize(inboundCorePoolSize, CORES * 2);
+        registration.interceptors(inboundRateLimitInterceptor, stompAuthenticationInterceptor, stompPayloadFormatInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(corePoolSize)
+                .maxPoolSize(Math.max(corePoolSize, poolSize(inboundMaxPoolSize, corePoolSize)))
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        int corePoolSize = poolSize(outboundCorePoolSize, CORES * 4);
+        // 변환된 최종 payload 크기로 미전송 바이트를 집계하도록 형식 변환 뒤에 둠
+        registration.interceptors(stompPayloadFormatInterceptor, webSocketSessionMonitor);
+        registration.taskExecutor()
+                .corePoolSize(corePoolSize)
+                .maxPoolSize(Math.max(corePoolSize, poolSize(outboundMaxPoolSize, corePoolSize)))
+                .queueCapacity(outboundQueueCapacity);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setMessageSizeLimit(messageSizeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimitMs)
+                .setTimeToFirstMessage(timeToFirstMessageMs)
+                .addDecoratorFactory(webSocketSessionMonitor);
+    }
+
+    @Bean
+    public ExactMatchSubscriptionRegistry brokerSubscriptionRegistry() {
+        return new ExactMatchSubscriptionRegistry();
+    }
+
+    /**
+     * enableSimpleBroker가 만든 브로커에 구독 저장소 주입 (MessageBrokerRegistry에는 저장소 설정 API가 없음)
+     */
+    @Bean
+    public static BeanPostProcessor brokerSubscriptionRegistryInstaller(
+            ObjectProvider<ExactMatchSubscriptionRegistry> subscriptionRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof SimpleBrokerMessageHandler brokerHandler) {
+                    brokerHandler.setSubscriptionRegistry(subscriptionRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static int poolSize(int configured, int fallback) {
+        return configured > 0 ? configured : fallback;
+    }
+}
@@ -0,0 +1,179 @@
+package com.authserver.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebSocket 세션 수, 세션별 미전송 바이트, 강제 종료를 추적하는 모니터
+ *
+ * 송신 채널에 들어온 세션별 메시지 크기를 미전송으로 잡고, 소켓 쓰기가 끝나면 같은 순서로 차감합니다
+ * (세션별 전송 순서는 preservePublishOrder로 보장). 미전송 바이트가 한도를 넘은 세션은 새 메시지를 받지 않고
+ * SESSION_NOT_RELIABLE로 종료합니다. 전송 시간/버퍼 한도 초과로 Spring이 종료한 세션도 함께 집계합니다.
+ */
+@Component
+public class WebSocketSessionMonitor implements WebSocketHandlerDecoratorFactory, ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketSessionMonitor.class);
+
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+    private final Counter pendingEvictions;
+    private final Counter sendLimitEvictions;
+
+    // 송신 대기열 + 세션 송신 버퍼에 쌓일 수 있는 세션별 최대 바이트
+    @Value("${websocket.session.max-pending-bytes:1048576}")
+    private long maxPendingBytes;
+
+    public WebSocketSessionMonitor(MeterRegistry meterRegistry) {
+        Gauge.builder("websocket.sessions", sessions, Map::size)
+                .description("열린 WebSocket 세션 수")
+                .register(meterRegistry);
+        Gauge.builder("websocket.sessions.buffered.bytes", this, WebSocketSessionMonitor::totalPendingBytes)
+                .description("전체 세션의 미전송 payload 바이트")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.pendingEvictions = evictionCounter(meterRegistry, "pending-bytes");
+        this.sendLimitEvictions = evictionCounter(meterRegistry, "send-limit");
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("websocket.sessions.evicted")
+                .description("느린 소비로 강제 종료된 세션 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                SessionState state = new SessionState(session);
+                sessions.put(session.getId(), state);
+                super.afterConnectionEstablished(new MeteredSession(session, state));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                SessionState state = sessions.remove(session.getId());
+                if (state != null && !state.evicted && CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+                    sendLimitEvictions.increment();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 송신 채널: 세션별 미전송 바이트 적립, 한도 초과 시 세션 종료
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        SessionState state = sessionId == null ? null : sessions.get(sessionId);
+        if (state == null) {
+            return message;
+        }
+        if (state.evicted) {
+            return null;
+        }
+
+        int size = message.getPayload() instanceof byte[] payload ? payload.length : 0;
+        if (!state.offer(size, maxPendingBytes)) {
+            evict(state);
+            return null;
+        }
+        return message;
+    }
+
+    private void evict(SessionState state) {
+        state.evicted = true;
+        pendingEvictions.increment();
+        logger.warn("미전송 바이트 한도 초과로 WebSocket 세션 종료 - sessionId={}, pending={}",
+                state.session.getId(), state.pendingBytes());
+        try {
+            state.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            logger.debug("WebSocket 세션 종료 실패 - sessionId={}", state.session.getId(), e);
+        }
+    }
+
+    private long totalPendingBytes() {
+        return sessions.values().stream().mapToLong(SessionState::pendingBytes).sum();
+    }
+
+    private static final class SessionState {
+
+        private final WebSocketSession session;
+        private final Deque<Integer> pendingSizes = new ArrayDeque<>();
+        private long pendingBytes;
+        private volatile boolean evicted;
+
+        private SessionState(WebSocketSession session) {
+            this.session = session;
+        }
+
+        synchronized boolean offer(int size, long limit) {
+            if (pendingBytes + size > limit && !pendingSizes.isEmpty()) {
+                return false;
+            }
+            pendingSizes.addLast(size);
+            pendingBytes += size;
+            return true;
+        }
+
+        synchronized void written() {
+            Integer size = pendingSizes.pollFirst();
+            if (size != null) {
+                pendingBytes -= size;
+            }
+        }
+
+        synchronized long pendingBytes() {
+            return pendingBytes;
+        }
+    }
+
+    /**
+     * 실제 소켓 쓰기가 끝난 시점을 알리는 세션 래퍼 (Spring의 동시 전송 데코레이터 안쪽에 위치)
+     */
+    private static final class MeteredSession extends WebSocketSessionDecorator {
+
+        private final SessionState state;
+
+        private MeteredSession(WebSocketSession session, SessionState state) {
+            super(session);
+            this.state = state;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            try {
+                super.sendMessage(message);
+            } finally {
+                state.written();
+            }
+        }
+    }
+}
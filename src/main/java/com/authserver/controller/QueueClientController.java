@@ -23,6 +23,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 
 /**
  * 클라이언트의 대기열 요청을 받아 대기열 서버로 전달하는 컨트롤러
@@ -55,9 +57,13 @@ public class QueueClientController {
                             schema = @Schema(implementation = EnqueueResponse.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "대기열 등록 접수 (대기열 서버 반영 지연, 순번은 대기열 상태 조회나 알림으로 확인)"
+            ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "잘못된 요청 (유효성 검사 실패 또는 티켓 없음)"
+                    description = "잘못된 요청 (유효성 검사 실패, 티켓 없음 또는 대기열 서버가 거절)"
             ),
             @ApiResponse(
                     responseCode = "403",
@@ -73,19 +79,24 @@ public class QueueClientController {
             jakarta.servlet.http.HttpServletRequest request,
             @RequestBody @Valid EnqueueRequest enqueueRequest) {
         Long authenticatedUserId = (Long) request.getAttribute("authenticatedUserId");
-        logger.info("대기열 등록 요청 - 인증된사용자={}, 요청사용자={}, 놀이기구={}, 티켓타입={}",
+        logger.debug("대기열 등록 요청 - 인증된사용자={}, 요청사용자={}, 놀이기구={}, 티켓타입={}",
                 authenticatedUserId, enqueueRequest.userId(), enqueueRequest.rideId(),
                 enqueueRequest.ticketType());
 
         try {
-            EnqueueResponse response = queueClientService.enqueueWithValidation(
+            Optional<EnqueueResponse> response = queueClientService.enqueueWithValidation(
                     authenticatedUserId,
                     enqueueRequest.userId(),
                     enqueueRequest.rideId(),
                     enqueueRequest.ticketType()
             );
 
-            return ResponseEntity.ok(response);
+            if (response.isEmpty()) {
+                // 대기 기록은 저장되었고 대기열 서버 전달은 아웃박스에서 재시도
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .body("대기열 등록 요청이 접수되었습니다. 순번은 잠시 후 대기열 상태에서 확인할 수 있습니다.");
+            }
+            return ResponseEntity.ok(response.get());
         } catch (IllegalArgumentException e) {
             logger.warn("대기열 등록 검증 실패: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
@@ -131,7 +142,7 @@ public class QueueClientController {
             @Parameter(description = "사용자 ID", required = true)
             @PathVariable("userId") Long userId) {
         Long authenticatedUserId = (Long) request.getAttribute("authenticatedUserId");
-        logger.info("대기열 상태 조회 요청 - 인증된사용자={}, 요청사용자={}", authenticatedUserId, userId);
+        logger.debug("대기열 상태 조회 요청 - 인증된사용자={}, 요청사용자={}", authenticatedUserId, userId);
 
         try {
             QueueStatusListResponse response = queueClientService.getAllStatusWithValidation(
@@ -186,7 +197,7 @@ public class QueueClientController {
             jakarta.servlet.http.HttpServletRequest request,
             @RequestBody @Valid CompleteRideRequest completeRequest) {
         Long authenticatedUserId = (Long) request.getAttribute("authenticatedUserId");
-        logger.info("놀이기구 이용 완료 요청 - 인증된사용자={}, 요청사용자={}, 놀이기구={}",
+        logger.debug("놀이기구 이용 완료 요청 - 인증된사용자={}, 요청사용자={}, 놀이기구={}",
                 authenticatedUserId, completeRequest.userId(), completeRequest.rideId());
 
         try {
@@ -251,7 +262,7 @@ public class QueueClientController {
             jakarta.servlet.http.HttpServletRequest request,
             @RequestBody @Valid CancelRequest cancelRequest) {
         Long authenticatedUserId = (Long) request.getAttribute("authenticatedUserId");
-        logger.info("대기열 취소 요청 - 인증된사용자={}, 요청사용자={}, 놀이기구={}",
+        logger.debug("대기열 취소 요청 - 인증된사용자={}, 요청사용자={}, 놀이기구={}",
                 authenticatedUserId, cancelRequest.userId(), cancelRequest.rideId());
 
         try {
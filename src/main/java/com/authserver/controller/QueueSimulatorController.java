@@ -0,0 +1,59 @@
+package com.authserver.controller;
+
+import com.authserver.dto.queue.EnqueueRequest;
+import com.authserver.dto.queue.EnqueueResponse;
+import com.authserver.dto.queue.QueueStatusListResponse;
+import com.authserver.dto.queue.RideQueueInfoDto;
+import com.authserver.dto.queue.RideQueueInfoListResponse;
+import com.authserver.service.QueueSimulatorService;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 대기열 서버 API를 흉내내는 시뮬레이터 컨트롤러 (queue-simulator 프로파일 전용)
+ */
+@Hidden
+@RestController
+@RequestMapping("/api/queue")
+@Profile("queue-simulator")
+@RequiredArgsConstructor
+public class QueueSimulatorController {
+
+    private final QueueSimulatorService simulatorService;
+
+    @PostMapping("/enqueue")
+    public EnqueueResponse enqueue(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody EnqueueRequest request) {
+        simulatorService.simulateNetwork();
+        return simulatorService.enqueue(request.userId(), request.rideId(), request.ticketType(), idempotencyKey);
+    }
+
+    @PostMapping("/cancel")
+    public ResponseEntity<Void> cancel(@RequestBody EnqueueRequest request) {
+        simulatorService.simulateNetwork();
+        simulatorService.cancel(request.userId(), request.rideId(), request.ticketType());
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/status/all")
+    public QueueStatusListResponse getAllStatus(@RequestParam Long userId) {
+        simulatorService.simulateNetwork();
+        return simulatorService.getStatus(userId);
+    }
+
+    @GetMapping("/rides/info")
+    public RideQueueInfoListResponse getAllRidesInfo() {
+        simulatorService.simulateNetwork();
+        return simulatorService.getAllRidesInfo();
+    }
+
+    @GetMapping("/rides/{rideId}/info")
+    public RideQueueInfoDto getRideInfo(@PathVariable Long rideId) {
+        simulatorService.simulateNetwork();
+        return simulatorService.getRideInfo(rideId);
+    }
+}
@@ -0,0 +1,41 @@
+package com.authserver.controller;
+
+import com.authserver.dto.websocket.AllRidesMinutesEvent;
+import com.authserver.service.RideWaitTimeService;
+import com.authserver.service.RideWaitTimeStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * 놀이기구 대기 시간 SSE 스트림 (대시보드/키오스크 등 읽기 전용 화면용)
+ */
+@RestController
+@RequestMapping("/rides")
+@RequiredArgsConstructor
+@Tag(name = "놀이기구 API", description = "놀이기구 관리 및 대기열 관련 API")
+public class RideWaitTimeStreamController {
+
+    private final RideWaitTimeService rideWaitTimeService;
+    private final RideWaitTimeStreamService rideWaitTimeStreamService;
+
+    /**
+     * GET /api/rides/wait-times/stream - 전체 놀이기구 대기 시간 스트림
+     * 연결 직후 현재 전체 목록을 받고, 이후 대기 시간이 바뀔 때마다 전체 목록(event: minutes)을 받음
+     */
+    @Operation(summary = "놀이기구 대기 시간 스트림",
+               description = "Server-Sent Events로 전체 놀이기구 대기 시간을 변경 시마다 받습니다. 느린 클라이언트는 최신 목록만 받습니다.")
+    @GetMapping(value = "/wait-times/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<AllRidesMinutesEvent>> streamWaitTimes() {
+        // text/event-stream으로 반환한 Flux는 ReactiveTypeHandler가 타임아웃 없는(-1) SseEmitter로 감싸므로
+        // spring.mvc.async.request-timeout(기본 30초)이 이 스트림에는 적용되지 않음.
+        // 요청은 한 건씩(request(1)) 하고 전송은 MVC 비동기 실행기에서 하므로 느린 구독자는 버퍼 정책으로 최신 목록만 받음
+        return rideWaitTimeStreamService.stream(rideWaitTimeService::currentMinutes);
+    }
+}
@@ -14,7 +14,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.authserver.entity.TicketOrder;
 import com.authserver.entity.ActiveStatus;
+import com.authserver.exception.WaitingRoomPassException;
 import com.authserver.service.TicketOrderService;
+import com.authserver.service.TicketWaitingRoomService;
 
 import java.util.List;
 
@@ -35,17 +37,28 @@ public class TicketController {
             @ApiResponse(responseCode = "201", description = "생성 성공"),
             @ApiResponse(responseCode = "400", description = "잘못된 요청"),
             @ApiResponse(responseCode = "401", description = "인증 필요"),
+            @ApiResponse(responseCode = "403", description = "대기실 통행증 없음, 만료 또는 이미 사용됨"),
+            @ApiResponse(responseCode = "409", description = "매진"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @PostMapping
     public ResponseEntity<TicketOrder> createTicketOrder(
             jakarta.servlet.http.HttpServletRequest request,
             @Parameter(description = "티켓 관리 ID", required = true, example = "1")
-            @RequestParam Long ticketManagementId) {
+            @RequestParam Long ticketManagementId,
+            @Parameter(description = "대기실 통행증 (대기실 사용 시 필수)")
+            @RequestHeader(value = TicketWaitingRoomService.PASS_HEADER, required = false) String waitingRoomPass) {
         try {
             Long authenticatedUserId = (Long) request.getAttribute("authenticatedUserId");
-            TicketOrder ticketOrder = ticketOrderService.createTicketOrder(authenticatedUserId, ticketManagementId);
+            TicketOrder ticketOrder = ticketOrderService.createTicketOrder(authenticatedUserId, ticketManagementId, waitingRoomPass);
             return ResponseEntity.status(HttpStatus.CREATED).body(ticketOrder);
+        } catch (WaitingRoomPassException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            // 매진
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
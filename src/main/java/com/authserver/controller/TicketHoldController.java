@@ -0,0 +1,128 @@
+package com.authserver.controller;
+
+import com.authserver.dto.TicketHoldResponse;
+import com.authserver.entity.TicketOrder;
+import com.authserver.exception.WaitingRoomPassException;
+import com.authserver.service.TicketHoldService;
+import com.authserver.service.TicketWaitingRoomService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/tickets/holds")
+@RequiredArgsConstructor
+@Tag(name = "티켓 홀드 API", description = "결제 전 티켓 재고 홀드/확정/취소 API")
+public class TicketHoldController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketHoldController.class);
+    private final TicketHoldService ticketHoldService;
+
+    /**
+     * POST /api/tickets/holds - 티켓 재고 홀드
+     */
+    @Operation(summary = "티켓 홀드", description = "결제하는 동안 티켓 재고를 확보합니다. 만료 시각까지 확정하지 않으면 자동으로 반환됩니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "홀드 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+            @ApiResponse(responseCode = "401", description = "인증 필요"),
+            @ApiResponse(responseCode = "403", description = "대기실 통행증 없음, 만료 또는 이미 사용됨"),
+            @ApiResponse(responseCode = "409", description = "매진 또는 사용자 홀드 한도 초과"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @PostMapping
+    public ResponseEntity<TicketHoldResponse> hold(
+            jakarta.servlet.http.HttpServletRequest request,
+            @Parameter(description = "티켓 관리 ID", required = true, example = "1")
+            @RequestParam Long ticketManagementId,
+            @Parameter(description = "수량", example = "1")
+            @RequestParam(defaultValue = "1") int quantity,
+            @Parameter(description = "대기실 통행증 (대기실 사용 시 필수)")
+            @RequestHeader(value = TicketWaitingRoomService.PASS_HEADER, required = false) String waitingRoomPass) {
+        try {
+            Long authenticatedUserId = (Long) request.getAttribute("authenticatedUserId");
+            TicketHoldResponse hold = ticketHoldService.hold(authenticatedUserId, ticketManagementId, quantity, waitingRoomPass);
+            return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+        } catch (WaitingRoomPassException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            // 매진 또는 사용자 홀드 한도 초과
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            logger.error("티켓 홀드 중 오류 발생 - ticketManagementId={}", ticketManagementId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * POST /api/tickets/holds/{holdId}/confirm - 홀드 확정 (주문 생성)
+     */
+    @Operation(summary = "티켓 홀드 확정", description = "결제가 끝난 홀드를 확정하여 홀드한 수량만큼 티켓 주문을 생성합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "확정 성공"),
+            @ApiResponse(responseCode = "401", description = "인증 필요"),
+            @ApiResponse(responseCode = "404", description = "홀드를 찾을 수 없음"),
+            @ApiResponse(responseCode = "409", description = "홀드 만료"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @PostMapping("/{holdId}/confirm")
+    public ResponseEntity<List<TicketOrder>> confirm(
+            jakarta.servlet.http.HttpServletRequest request,
+            @Parameter(description = "홀드 ID", required = true)
+            @PathVariable String holdId) {
+        try {
+            Long authenticatedUserId = (Long) request.getAttribute("authenticatedUserId");
+            List<TicketOrder> ticketOrders = ticketHoldService.confirm(authenticatedUserId, holdId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ticketOrders);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            logger.error("티켓 홀드 확정 중 오류 발생 - holdId={}", holdId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * DELETE /api/tickets/holds/{holdId} - 홀드 취소 (재고 반환)
+     */
+    @Operation(summary = "티켓 홀드 취소", description = "홀드를 취소하고 재고를 바로 반환합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "취소 성공"),
+            @ApiResponse(responseCode = "401", description = "인증 필요"),
+            @ApiResponse(responseCode = "404", description = "홀드를 찾을 수 없음"),
+            @ApiResponse(responseCode = "409", description = "홀드 만료"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<Void> release(
+            jakarta.servlet.http.HttpServletRequest request,
+            @Parameter(description = "홀드 ID", required = true)
+            @PathVariable String holdId) {
+        try {
+            Long authenticatedUserId = (Long) request.getAttribute("authenticatedUserId");
+            ticketHoldService.release(authenticatedUserId, holdId);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            logger.error("티켓 홀드 취소 중 오류 발생 - holdId={}", holdId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
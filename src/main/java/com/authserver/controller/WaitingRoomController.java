@@ -0,0 +1,78 @@
+package com.authserver.controller;
+
+import com.authserver.dto.WaitingRoomStatusResponse;
+import com.authserver.service.TicketWaitingRoomService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/tickets/waiting-room")
+@RequiredArgsConstructor
+@Tag(name = "티켓 대기실 API", description = "티켓 판매 대기실 입장/순번 조회 API")
+public class WaitingRoomController {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitingRoomController.class);
+    private final TicketWaitingRoomService ticketWaitingRoomService;
+
+    /**
+     * POST /api/tickets/waiting-room/{ticketManagementId} - 대기실 입장 (순번 발급)
+     */
+    @Operation(summary = "대기실 입장", description = "티켓 판매 대기실에 입장하여 순번을 받습니다. 이미 입장했다면 기존 순번을 반환합니다. " +
+            "진행 상황은 /sub/waiting-room/{ticketManagementId}를 구독하여 받을 수 있습니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "입장 성공"),
+            @ApiResponse(responseCode = "401", description = "인증 필요"),
+            @ApiResponse(responseCode = "404", description = "없거나 판매 중이 아닌 티켓"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @PostMapping("/{ticketManagementId}")
+    public ResponseEntity<WaitingRoomStatusResponse> enter(
+            jakarta.servlet.http.HttpServletRequest request,
+            @Parameter(description = "티켓 관리 ID", required = true, example = "1")
+            @PathVariable Long ticketManagementId) {
+        try {
+            Long authenticatedUserId = (Long) request.getAttribute("authenticatedUserId");
+            return ResponseEntity.ok(ticketWaitingRoomService.enter(authenticatedUserId, ticketManagementId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            logger.error("대기실 입장 중 오류 발생 - ticketManagementId={}", ticketManagementId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * GET /api/tickets/waiting-room/{ticketManagementId} - 대기 순서 조회 (입장 허가 시 통행증 발급)
+     */
+    @Operation(summary = "대기 순서 조회", description = "남은 순서를 조회합니다. 입장 허가되면 티켓 주문 시 X-Waiting-Room-Pass 헤더로 보낼 통행증을 함께 반환합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "401", description = "인증 필요"),
+            @ApiResponse(responseCode = "404", description = "대기실에 입장하지 않음"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/{ticketManagementId}")
+    public ResponseEntity<WaitingRoomStatusResponse> getStatus(
+            jakarta.servlet.http.HttpServletRequest request,
+            @Parameter(description = "티켓 관리 ID", required = true, example = "1")
+            @PathVariable Long ticketManagementId) {
+        try {
+            Long authenticatedUserId = (Long) request.getAttribute("authenticatedUserId");
+            return ResponseEntity.ok(ticketWaitingRoomService.getStatus(authenticatedUserId, ticketManagementId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            logger.error("대기 순서 조회 중 오류 발생 - ticketManagementId={}", ticketManagementId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.authserver.controller;
 
-import com.authserver.service.WebSocketSchedulerService;
+import com.authserver.dto.websocket.AllRidesMinutesEvent;
+import com.authserver.dto.websocket.RideDetailQueueInfo;
+import com.authserver.service.RideWaitTimeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
@@ -21,21 +24,34 @@ import java.security.Principal;
 public class WebSocketController {
 
     private static final Logger logger = LoggerFactory.getLogger(WebSocketController.class);
-    private final WebSocketSchedulerService schedulerService;
+    private final RideWaitTimeService rideWaitTimeService;
 
     /**
      * 클라이언트가 전체 놀이기구 대기 시간을 구독할 때 호출
      * 경로: /pub/rides/minutes
      * 수신: /sub/rides/minutes
      *
-     * 1분마다 자동으로 전체 놀이기구의 대기 시간이 브로드캐스트됨
+     * 대기 시간이 바뀔 때마다 바뀐 놀이기구만 seq와 함께 브로드캐스트됨
      */
     @MessageMapping("/rides/minutes")
-    @Operation(summary = "전체 놀이기구 대기 시간 구독", description = "모든 놀이기구의 대기 시간을 1분마다 받습니다.")
+    @Operation(summary = "전체 놀이기구 대기 시간 구독", description = "놀이기구 대기 시간이 바뀔 때마다 변경분을 받습니다.")
     public void subscribeAllRidesMinutes(Principal principal) {
         String username = principal != null ? principal.getName() : "anonymous";
         logger.info("WebSocket 전체 놀이기구 대기 시간 구독 - Principal={}", username);
-        // 구독만 처리, 데이터는 스케줄러에서 자동으로 /sub/rides/minutes로 브로드캐스트
+        // 구독만 처리, 데이터는 대기 시간 변경 시 자동으로 /sub/rides/minutes로 브로드캐스트
+    }
+
+    /**
+     * 전체 놀이기구 대기 시간 스냅샷 (구독한 세션에게만 한 번 응답)
+     * 구독: /pub/rides/minutes/snapshot
+     *
+     * 최초 연결 시, 또는 /sub/rides/minutes의 seq가 건너뛰었을 때 다시 구독하여 전체 목록을 받음
+     * 이후 seq가 스냅샷보다 큰 변경분만 적용
+     */
+    @SubscribeMapping("/rides/minutes/snapshot")
+    @Operation(summary = "전체 놀이기구 대기 시간 스냅샷", description = "현재 전체 놀이기구 대기 시간과 기준 seq를 받습니다.")
+    public AllRidesMinutesEvent snapshotAllRidesMinutes() {
+        return rideWaitTimeService.snapshotMinutes();
     }
 
     /**
@@ -44,20 +60,30 @@ public class WebSocketController {
      * 수신: /sub/rides/{rideId}/info
      *
      * 초기 데이터는 REST API(GET /rides/{rideId})로 받고,
-     * 이후 1분마다 자동으로 업데이트된 대기열 정보가 브로드캐스트됨
+     * 이후 대기열 정보가 바뀔 때마다 브로드캐스트됨
      */
     @MessageMapping("/rides/{rideId}/info")
-    @Operation(summary = "놀이기구 상세 대기열 정보 구독", description = "특정 놀이기구의 프리미엄/일반 대기열 정보를 1분마다 받습니다.")
+    @Operation(summary = "놀이기구 상세 대기열 정보 구독", description = "특정 놀이기구의 프리미엄/일반 대기열 정보가 바뀔 때마다 받습니다.")
     public void subscribeRideDetailInfo(@DestinationVariable("rideId") Long rideId, Principal principal) {
         String username = principal != null ? principal.getName() : "anonymous";
         logger.info("WebSocket 놀이기구 상세 대기열 정보 구독 - rideId={}, Principal={}", rideId, username);
-        // 구독만 처리, 데이터는 스케줄러에서 자동으로 /sub/rides/{rideId}/info로 브로드캐스트
+        // 구독만 처리, 데이터는 변경 시 자동으로 /sub/rides/{rideId}/info로 브로드캐스트
+    }
+
+    /**
+     * 특정 놀이기구의 상세 대기열 정보 스냅샷 (구독한 세션에게만 한 번 응답, 아직 정보가 없으면 응답 없음)
+     * 구독: /pub/rides/{rideId}/info/snapshot
+     */
+    @SubscribeMapping("/rides/{rideId}/info/snapshot")
+    @Operation(summary = "놀이기구 상세 대기열 정보 스냅샷", description = "특정 놀이기구의 현재 대기열 정보와 seq를 받습니다.")
+    public RideDetailQueueInfo snapshotRideDetailInfo(@DestinationVariable("rideId") Long rideId) {
+        return rideWaitTimeService.getDetail(rideId).orElse(null);
     }
 
     /**
      * 클라이언트가 자신의 대기열 상태를 구독할 때 호출
      * 경로: /pub/user/{userId}/queue-status
-     * 수신: /sub/user/{userId}/queue-status
+     * 수신: /user/sub/queue-status (ACCESS_TOKEN으로 인증된 세션만 구독 가능, 본인 알림만 전달됨)
      *
      * 이 채널로 Kafka로부터 받은 READY/ALMOST_READY 탑승 알림이 실시간으로 전송됨
      * 초기 대기열 상태는 별도 REST API로 조회
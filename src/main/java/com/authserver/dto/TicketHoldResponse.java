@@ -0,0 +1,14 @@
+package com.authserver.dto;
+
+import java.time.Instant;
+
+/**
+ * 티켓 홀드 (expiresAt까지 확정하지 않으면 재고로 자동 반환)
+ */
+public record TicketHoldResponse(
+        String holdId,
+        Long ticketManagementId,
+        int quantity,
+        Instant expiresAt
+) {
+}
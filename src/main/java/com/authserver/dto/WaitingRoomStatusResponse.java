@@ -0,0 +1,17 @@
+package com.authserver.dto;
+
+import java.time.Instant;
+
+/**
+ * 티켓 대기실 내 사용자 상태
+ * 입장 허가 전이나 통행증이 만료된 뒤에는 pass가 null이며, 허가되면 티켓 주문 시 X-Waiting-Room-Pass 헤더로 보낼 통행증이 담깁니다.
+ */
+public record WaitingRoomStatusResponse(
+        Long ticketManagementId,
+        long seq,               // 대기 순번
+        long position,          // 남은 순서 (0이면 입장 허가)
+        boolean admitted,
+        String pass,
+        Instant passExpiresAt
+) {
+}
@@ -0,0 +1,101 @@
+package com.authserver.dto.queue;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * 대기열 서버가 Kafka(queue-event-topic)로 발행하는 탑승 알림 이벤트
+ *
+ * 발행 측은 이벤트마다 eventId를 붙여야 합니다(시뮬레이터/부하 테스트는 항상 붙임).
+ * 중복 판별 윈도우는 eventId를 우선 사용하고, 없을 때만 내용과 발행 시각으로 판별합니다.
+ */
+public record QueueEvent(
+        long rideId,
+        long userId,
+        String type,        // PREMIUM or GENERAL
+        String status,      // READY or ALMOST_READY
+        String eventId      // 발행 측 이벤트 ID (없을 수 있음)
+) {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Kafka 메시지 바이트를 트리 생성 없이 스트리밍 파서로 바로 변환
+     *
+     * @throws IOException JSON 형식이 아니거나 필수 필드가 없는 경우
+     */
+    public static QueueEvent parse(byte[] payload) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("queue event must be a JSON object");
+            }
+
+            Long rideId = null;
+            Long userId = null;
+            String type = null;
+            String status = null;
+            String eventId = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "rideId" -> rideId = parser.getValueAsLong();
+                    case "userId" -> userId = parser.getValueAsLong();
+                    case "type" -> type = parser.getValueAsString();
+                    case "status" -> status = parser.getValueAsString();
+                    case "eventId" -> eventId = parser.getValueAsString();
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (rideId == null || userId == null || type == null || status == null) {
+                throw new IOException("queue event is missing required fields");
+            }
+            return new QueueEvent(rideId, userId, type, status, eventId);
+        }
+    }
+
+    /**
+     * 중복 판별용 64비트 지문
+     * eventId가 있으면 eventId 기준, 없으면 내용(userId, rideId, type, status)과 발행 시각(레코드 타임스탬프) 기준
+     * 발행 시각은 레코드에 저장되므로 다시 읽은 레코드나 발행 측 재시도로 오프셋이 달라진 사본도 같은 지문이 되고,
+     * 같은 사용자에게 나중에 다시 발행된 정상 알림은 발행 시각이 달라 걸러지지 않습니다.
+     * 타임스탬프가 없는 레코드(-1)는 Kafka 위치(파티션, 오프셋) 기준입니다.
+     */
+    public long fingerprint(int partition, long offset, long sourceTimestamp) {
+        long hash = FNV_OFFSET;
+        if (eventId != null) {
+            return fnv(hash, eventId);
+        }
+        if (sourceTimestamp < 0) {
+            hash = fnv(hash, partition);
+            return fnv(hash, offset);
+        }
+        hash = fnv(hash, userId);
+        hash = fnv(hash, rideId);
+        hash = fnv(hash, type);
+        hash = fnv(hash, status);
+        return fnv(hash, sourceTimestamp);
+    }
+
+    private static long fnv(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+
+    private static long fnv(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        // 필드 경계 구분
+        return (hash ^ 0xff) * FNV_PRIME;
+    }
+}
@@ -4,9 +4,14 @@ import java.util.List;
 
 /**
  * 전체 놀이기구 대기 시간 이벤트
- * WebSocket 목적지: /sub/rides/minutes
+ * WebSocket 목적지: /sub/rides/minutes (변경분), /pub/rides/minutes/snapshot 구독 응답 (전체)
+ *
+ * 변경분 메시지는 직전 메시지 이후 바뀐 놀이기구만 담고 seq가 1씩 증가합니다.
+ * 클라이언트는 seq가 건너뛰면 스냅샷을 다시 받아야 합니다.
  */
 public record AllRidesMinutesEvent(
+        long seq,
+        boolean snapshot,        // true: 전체 목록, false: 변경분
         List<RideMinutes> rides
 ) {
     public record RideMinutes(
@@ -0,0 +1,24 @@
+package com.authserver.dto.websocket;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * 한 번의 Kafka 배치에서 같은 사용자에게 온 여러 놀이기구의 탑승 알림을 묶은 메시지
+ * WebSocket 목적지: /user/sub/queue-status (인증된 사용자 본인 세션에만 전달)
+ *
+ * 알림이 하나뿐이면 기존처럼 QueueEventMessage 단건으로 전송되며, 둘 이상일 때만 이 형식을 사용합니다.
+ * 같은 채널의 다른 메시지와 messageType으로 구분합니다.
+ */
+public record QueueEventBatchMessage(
+        Long userId,
+        List<QueueEventMessage> events
+) {
+    public static final String MESSAGE_TYPE = "QUEUE_EVENT_BATCH";
+
+    @JsonProperty("messageType")
+    public String messageType() {
+        return MESSAGE_TYPE;
+    }
+}
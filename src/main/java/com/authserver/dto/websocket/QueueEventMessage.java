@@ -1,14 +1,27 @@
 package com.authserver.dto.websocket;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 /**
  * 웹소켓으로 전송할 대기열 이벤트 DTO
+ * /user/sub/queue-status 의 다른 메시지와 messageType으로 구분합니다 (type은 티켓 종류).
  */
 public record QueueEventMessage(
         Long rideId,
         String rideName,    // 놀이기구 이름
         Long userId,
         String type,        // PREMIUM or GENERAL
-        String status       // READY or ALMOST_READY
+        String status,      // READY, ALMOST_READY or ENQUEUE_REJECTED
+        String eventId      // 원본 대기열 이벤트 ID (없을 수 있음)
 ) {
+    // 대기열 서버가 등록을 거절하여 대기 기록이 취소됨
+    public static final String STATUS_ENQUEUE_REJECTED = "ENQUEUE_REJECTED";
+
+    public static final String MESSAGE_TYPE = "QUEUE_EVENT";
+
+    @JsonProperty("messageType")
+    public String messageType() {
+        return MESSAGE_TYPE;
+    }
 }
 
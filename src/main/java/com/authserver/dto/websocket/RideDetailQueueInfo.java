@@ -4,10 +4,13 @@ import java.util.List;
 
 /**
  * 특정 놀이기구의 상세 대기열 정보
- * WebSocket 목적지: /sub/rides/{rideId}/info
+ * WebSocket 목적지: /sub/rides/{rideId}/info (값이 바뀔 때만 전송), /pub/rides/{rideId}/info/snapshot 구독 응답
+ *
+ * seq는 놀이기구별로 변경 때마다 1씩 증가합니다.
  */
 public record RideDetailQueueInfo(
         Long rideId,
+        long seq,
         List<WaitTime> waitTimes
 ) {
     public record WaitTime(
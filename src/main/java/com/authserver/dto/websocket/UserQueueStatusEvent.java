@@ -1,17 +1,26 @@
 package com.authserver.dto.websocket;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.List;
 
 /**
  * 사용자별 대기열 상태 이벤트
- * WebSocket 목적지: /sub/user/{userId}/queue-status
+ * WebSocket 목적지: /user/sub/queue-status (인증된 사용자 본인 세션에만 전달)
  *
- * Kafka READY/ALMOST_READY 이벤트도 같은 채널로 전송됨
+ * Kafka READY/ALMOST_READY 이벤트도 같은 채널로 전송되므로 messageType으로 구분
  */
 public record UserQueueStatusEvent(
         Long userId,
         List<QueueItem> items
 ) {
+    public static final String MESSAGE_TYPE = "QUEUE_STATUS";
+
+    @JsonProperty("messageType")
+    public String messageType() {
+        return MESSAGE_TYPE;
+    }
+
     public record QueueItem(
             Long rideId,
             String rideName,
@@ -0,0 +1,15 @@
+package com.authserver.dto.websocket;
+
+/**
+ * 티켓 대기실 진행 이벤트
+ * WebSocket 목적지: /sub/waiting-room/{ticketManagementId}
+ *
+ * 대기실 전체에 한 메시지만 보내며, 클라이언트는 입장 시 받은 자신의 순번(seq)으로 남은 순서를 계산합니다.
+ * seq <= admittedSeq 이면 입장 허가된 것이므로 상태 조회 API로 구매 통행증을 받습니다.
+ */
+public record WaitingRoomProgressEvent(
+        Long ticketManagementId,
+        long admittedSeq,   // 이 순번까지 입장 허가
+        long lastSeq        // 마지막으로 발급된 순번
+) {
+}
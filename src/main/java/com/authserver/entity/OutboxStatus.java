@@ -0,0 +1,7 @@
+package com.authserver.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    DISPATCHED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.authserver.entity;
+
+public enum QueueCommandType {
+    ENQUEUE,
+    CANCEL
+}
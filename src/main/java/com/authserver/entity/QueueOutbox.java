@@ -0,0 +1,66 @@
+package com.authserver.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대기열 서버 명령 아웃박스 엔티티
+ * RideUsage 변경과 같은 트랜잭션에서 기록되며, 디스패처가 대기열 서버로 전달합니다.
+ */
+@Entity
+@Table(name = "queue_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(name = "idempotency_key", nullable = false, unique = true, length = 36)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "command_type", nullable = false)
+    private QueueCommandType commandType;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "ride_id", nullable = false)
+    private Long rideId;
+
+    @Column(name = "ticket_type", nullable = false, length = 16)
+    private String ticketType;
+
+    // ENQUEUE 명령이 만든 이용 기록 (CANCEL 명령이나 이 컬럼 추가 전에 기록된 명령은 null)
+    @Column(name = "ride_usage_id")
+    private Long rideUsageId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
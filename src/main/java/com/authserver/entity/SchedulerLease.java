@@ -0,0 +1,32 @@
+package com.authserver.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스케줄러 리더 임대 엔티티
+ * 임대 이름당 한 행이며, 만료 전까지는 owner_id 인스턴스만 해당 작업을 실행합니다.
+ */
+@Entity
+@Table(name = "scheduler_lease")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLease {
+
+    @Id
+    @Column(name = "lease_name", length = 64)
+    private String leaseName;
+
+    @Column(name = "owner_id", length = 64)
+    private String ownerId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,41 @@
+package com.authserver.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 티켓 홀드 원장 엔티티
+ * 행이 있는 동안 quantity만큼 재고가 차감된 상태이며, 확정/취소/만료 반환 시 삭제됩니다.
+ */
+@Entity
+@Table(name = "ticket_hold")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketHold {
+
+    @Id
+    @Column(name = "hold_id", length = 36)
+    private String holdId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "ticket_management_id", nullable = false)
+    private Long ticketManagementId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -5,14 +5,17 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 /**
  * 티켓 재고 관리 엔티티
  * 특정 날짜/시간에 판매 가능한 티켓의 재고를 관리합니다.
+ * 재고는 조건부 UPDATE로만 바꾸므로(TicketManagementRepository) 엔티티 저장 시에는 재고 컬럼을 쓰지 않습니다.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "ticket_management")
 @Getter
 @Setter
@@ -31,6 +34,7 @@ public class TicketManagement {
     @Column(name = "available_at", nullable = false)
     private LocalDateTime availableAt;
 
-    @Column(name = "stock", nullable = false)
+    // 엔티티를 읽은 뒤 커밋된 차감분을 덮어쓰지 않도록 UPDATE에서 제외
+    @Column(name = "stock", nullable = false, updatable = false)
     private Integer stock;
 }
@@ -0,0 +1,41 @@
+package com.authserver.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 티켓 판매 대기실 엔티티
+ * 티켓 재고당 한 행이며, 순번 발급과 입장 허가는 조건부 UPDATE로만 바꿉니다(WaitingRoomRepository).
+ */
+@Entity
+@Table(name = "waiting_room")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitingRoom {
+
+    @Id
+    @Column(name = "ticket_management_id")
+    private Long ticketManagementId;
+
+    // 마지막으로 발급된 순번
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+
+    // 이 순번까지 입장 허가
+    @Column(name = "admitted_seq", nullable = false)
+    private Long admittedSeq;
+
+    // 허가 인원 계산 기준 시각 (허가할 때마다 허가한 인원만큼 전진)
+    @Column(name = "admitted_at", nullable = false)
+    private LocalDateTime admittedAt;
+
+    @Column(name = "last_activity_at", nullable = false)
+    private LocalDateTime lastActivityAt;
+}
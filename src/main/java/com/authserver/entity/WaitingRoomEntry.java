@@ -0,0 +1,47 @@
+package com.authserver.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대기실 입장 기록 엔티티
+ * 사용자는 대기실마다 하나의 순번만 가집니다.
+ * 허가 후 통행증을 한 번 발급하면 passId가 채워지고, 주문/선점에서 통행증을 사용하면 행이 삭제됩니다.
+ */
+@Entity
+@Table(name = "waiting_room_entry")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitingRoomEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    @Column(name = "ticket_management_id", nullable = false)
+    private Long ticketManagementId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "seq", nullable = false)
+    private Long seq;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // 발급된 통행증의 jti (미발급이면 null)
+    @Column(name = "pass_id", length = 36)
+    private String passId;
+
+    @Column(name = "pass_expires_at")
+    private LocalDateTime passExpiresAt;
+}
@@ -0,0 +1,7 @@
+package com.authserver.exception;
+
+public class WaitingRoomPassException extends RuntimeException {
+    public WaitingRoomPassException(String message) {
+        super(message);
+    }
+}
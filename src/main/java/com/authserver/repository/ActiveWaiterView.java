@@ -0,0 +1,11 @@
+package com.authserver.repository;
+
+/**
+ * 대기 중인 이용 기록의 (userId, rideId)만 읽는 프로젝션
+ */
+public interface ActiveWaiterView {
+
+    Long getUserId();
+
+    Long getRideId();
+}
@@ -0,0 +1,46 @@
+package com.authserver.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.authserver.entity.OutboxStatus;
+import com.authserver.entity.QueueOutbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 대기열 서버 명령 아웃박스 Repository
+ */
+@Repository
+public interface QueueOutboxRepository extends JpaRepository<QueueOutbox, Long> {
+
+    /**
+     * 상태별 아웃박스 조회 (기록 순서대로)
+     */
+    List<QueueOutbox> findByStatusOrderByOutboxIdAsc(OutboxStatus status, Pageable pageable);
+
+    /**
+     * 지금 전송할 수 있는 아웃박스 조회 (기록 순서대로)
+     * 재시도 시점이 지난 명령만 가져오되, 같은 사용자/놀이기구에 아직 재시도 대기 중인 앞선 명령이 있으면 제외하여 순서를 지킴
+     */
+    @Query("select o from QueueOutbox o where o.status = :status and o.nextAttemptAt <= :now"
+            + " and not exists (select 1 from QueueOutbox p where p.status = :status"
+            + " and p.userId = o.userId and p.rideId = o.rideId"
+            + " and p.outboxId < o.outboxId and p.nextAttemptAt > :now)"
+            + " order by o.outboxId asc")
+    List<QueueOutbox> findDue(@Param("status") OutboxStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 가장 오래된 미전달 명령 (재시도 대기 중인 명령 포함, 지연 지표용)
+     */
+    Optional<QueueOutbox> findFirstByStatusOrderByOutboxIdAsc(OutboxStatus status);
+
+    long countByStatus(OutboxStatus status);
+
+    // 전달 완료된 오래된 기록 삭제 (스케줄러에서 사용)
+    void deleteByStatusAndDispatchedAtBefore(OutboxStatus status, LocalDateTime dateTime);
+}
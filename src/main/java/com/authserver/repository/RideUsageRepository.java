@@ -21,6 +21,11 @@ public interface RideUsageRepository extends JpaRepository<RideUsage, Long> {
 
     List<RideUsage> findByUserIdAndStatus(Long userId, RideUsageStatus status);
 
+    /**
+     * 특정 상태인 이용 기록의 사용자/놀이기구 ID만 조회 (엔티티를 만들지 않음)
+     */
+    List<ActiveWaiterView> findWaitersByStatus(RideUsageStatus status);
+
     /**
      * 특정 티켓으로 특정 놀이기구 이용 내역 조회
      */
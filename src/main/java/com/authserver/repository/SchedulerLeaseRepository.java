@@ -0,0 +1,39 @@
+package com.authserver.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.authserver.entity.SchedulerLease;
+
+/**
+ * 스케줄러 리더 임대 Repository
+ * 만료 판단은 인스턴스 간 시계 차이를 피하기 위해 DB 시각(NOW(6)) 기준으로 합니다.
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // 임대 행이 없으면 만료된 상태로 생성
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO scheduler_lease (lease_name, owner_id, expires_at) VALUES (:name, NULL, NOW(6))",
+            nativeQuery = true)
+    int createIfMissing(@Param("name") String name);
+
+    /**
+     * 내가 보유 중이거나 만료된 임대를 획득/연장
+     *
+     * @return 획득/연장했으면 1
+     */
+    @Modifying
+    @Query(value = "UPDATE scheduler_lease"
+            + " SET owner_id = :owner, expires_at = DATE_ADD(NOW(6), INTERVAL :ttlMillis * 1000 MICROSECOND)"
+            + " WHERE lease_name = :name AND (owner_id = :owner OR owner_id IS NULL OR expires_at < NOW(6))",
+            nativeQuery = true)
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner, @Param("ttlMillis") long ttlMillis);
+
+    @Modifying
+    @Query(value = "UPDATE scheduler_lease SET owner_id = NULL, expires_at = NOW(6) WHERE lease_name = :name AND owner_id = :owner",
+            nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
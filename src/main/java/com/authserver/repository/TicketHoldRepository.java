@@ -0,0 +1,64 @@
+package com.authserver.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.authserver.entity.TicketHold;
+import jakarta.persistence.LockModeType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 티켓 홀드 원장 Repository
+ * 확정/취소와 만료 반환이 같은 홀드를 두 번 처리하지 않도록 삭제는 조건부로만 합니다.
+ */
+@Repository
+public interface TicketHoldRepository extends JpaRepository<TicketHold, String> {
+
+    /**
+     * 만료되지 않은 본인 홀드 삭제 (확정/취소용, 0이면 이미 처리되었거나 만료됨)
+     */
+    @Modifying
+    @Query("delete from TicketHold h where h.holdId = :holdId and h.userId = :userId and h.expiresAt > :now")
+    int deleteActive(@Param("holdId") String holdId,
+                     @Param("userId") Long userId,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * 사용자가 티켓 재고 하나에 가진 만료되지 않은 홀드 수
+     */
+    @Query("select count(h) from TicketHold h where h.userId = :userId " +
+           "and h.ticketManagementId = :id and h.expiresAt > :now")
+    long countActive(@Param("userId") Long userId,
+                     @Param("id") Long ticketManagementId,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * 사용자가 티켓 재고 하나에 홀드한 만료되지 않은 총 수량
+     */
+    @Query("select coalesce(sum(h.quantity), 0) from TicketHold h where h.userId = :userId " +
+           "and h.ticketManagementId = :id and h.expiresAt > :now")
+    long sumActiveQuantity(@Param("userId") Long userId,
+                           @Param("id") Long ticketManagementId,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * 만료된 홀드 잠금 조회 (반환 트랜잭션 동안 확정/취소와 다른 인스턴스의 반환을 막음)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from TicketHold h where h.holdId in :holdIds and h.expiresAt <= :now")
+    List<TicketHold> findExpiredForUpdate(@Param("holdIds") Collection<String> holdIds,
+                                          @Param("now") LocalDateTime now);
+
+    /**
+     * 만료된 홀드 조회 (어느 인스턴스도 추적하지 않는 홀드 정리용)
+     */
+    @Query("select h from TicketHold h where h.expiresAt <= :now order by h.expiresAt")
+    List<TicketHold> findExpired(@Param("now") LocalDateTime now, Pageable pageable);
+}
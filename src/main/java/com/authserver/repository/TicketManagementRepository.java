@@ -1,11 +1,15 @@
 package com.authserver.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.authserver.entity.TicketManagement;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 티켓 재고 관리 Repository
@@ -33,8 +37,43 @@ public interface TicketManagementRepository extends JpaRepository<TicketManageme
      */
     List<TicketManagement> findByAvailableAtGreaterThanEqual(LocalDateTime dateTime);
 
+    /**
+     * 특정 날짜 이후 판매 가능한 재고인지 여부
+     */
+    boolean existsByTicketManagementIdAndAvailableAtGreaterThanEqual(Long ticketManagementId, LocalDateTime dateTime);
+
     /**
      * 티켓 ID와 이용 날짜로 재고 조회
      */
     List<TicketManagement> findByTicketIdAndAvailableAt(Long ticketId, LocalDateTime availableAt);
+
+    /**
+     * 재고 수량만 조회
+     */
+    @Query("select t.stock from TicketManagement t where t.ticketManagementId = :id")
+    Optional<Integer> findStockById(@Param("id") Long ticketManagementId);
+
+    /**
+     * 재고가 quantity 이상일 때만 차감 (재고의 기준값, 행 잠금은 해당 UPDATE 문 동안만)
+     *
+     * @return 차감했으면 1, 재고가 부족하거나 없는 ID면 0
+     */
+    @Modifying
+    @Query("update TicketManagement t set t.stock = t.stock - :quantity"
+            + " where t.ticketManagementId = :id and t.stock >= :quantity")
+    int decrementStock(@Param("id") Long ticketManagementId, @Param("quantity") int quantity);
+
+    /**
+     * 재고 반환 (취소/예약 만료)
+     */
+    @Modifying
+    @Query("update TicketManagement t set t.stock = t.stock + :quantity where t.ticketManagementId = :id")
+    int incrementStock(@Param("id") Long ticketManagementId, @Param("quantity") int quantity);
+
+    /**
+     * 관리자 재고 수정 (읽어 둔 값이 아닌 지정한 값으로 한 문장에 덮어씀)
+     */
+    @Modifying
+    @Query("update TicketManagement t set t.stock = :stock where t.ticketManagementId = :id")
+    int overwriteStock(@Param("id") Long ticketManagementId, @Param("stock") int stock);
 }
@@ -1,6 +1,8 @@
 package com.authserver.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.authserver.entity.User;
 
@@ -12,4 +14,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
+
+    /**
+     * 사용자 행 잠금 (같은 사용자의 요청을 트랜잭션이 끝날 때까지 순서대로 처리, 사용자가 없으면 null)
+     */
+    @Query(value = "SELECT id FROM users WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("id") Long id);
 }
@@ -0,0 +1,52 @@
+package com.authserver.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.authserver.entity.WaitingRoomEntry;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 대기실 입장 기록 Repository
+ */
+@Repository
+public interface WaitingRoomEntryRepository extends JpaRepository<WaitingRoomEntry, Long> {
+
+    Optional<WaitingRoomEntry> findByTicketManagementIdAndUserId(Long ticketManagementId, Long userId);
+
+    @Modifying
+    @Query("delete from WaitingRoomEntry e where e.ticketManagementId = :id")
+    int deleteByRoom(@Param("id") Long ticketManagementId);
+
+    /**
+     * 통행증 발급 기록 (아직 발급되지 않은 경우에만, 동시 조회 중 한 요청만 성공)
+     */
+    @Modifying
+    @Query("update WaitingRoomEntry e set e.passId = :passId, e.passExpiresAt = :expiresAt " +
+           "where e.entryId = :entryId and e.passId is null")
+    int issuePass(@Param("entryId") Long entryId,
+                  @Param("passId") String passId,
+                  @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * 통행증 사용 (유효한 통행증이면 입장 기록 삭제, 0이면 이미 사용되었거나 만료됨)
+     */
+    @Modifying
+    @Query("delete from WaitingRoomEntry e where e.passId = :passId and e.userId = :userId " +
+           "and e.ticketManagementId = :id and e.passExpiresAt > :now")
+    int consumePass(@Param("passId") String passId,
+                    @Param("userId") Long userId,
+                    @Param("id") Long ticketManagementId,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * 통행증을 쓰지 않고 만료된 입장 기록 삭제 (재입장 시 맨 뒤로)
+     */
+    @Modifying
+    @Query("delete from WaitingRoomEntry e where e.entryId = :entryId and e.passExpiresAt <= :now")
+    int deleteExpired(@Param("entryId") Long entryId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,57 @@
+package com.authserver.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.authserver.entity.WaitingRoom;
+
+import java.time.LocalDateTime;
+
+/**
+ * 티켓 판매 대기실 Repository
+ * 여러 인스턴스가 같은 행을 갱신하므로 읽은 값을 저장하지 않고 조건부 UPDATE만 사용합니다.
+ */
+@Repository
+public interface WaitingRoomRepository extends JpaRepository<WaitingRoom, Long> {
+
+    // 대기실이 없으면 생성
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO waiting_room (ticket_management_id, last_seq, admitted_seq, admitted_at, last_activity_at)"
+            + " VALUES (:id, 0, 0, NOW(6), NOW(6))",
+            nativeQuery = true)
+    int createIfMissing(@Param("id") Long ticketManagementId);
+
+    /**
+     * 순번 하나 발급 (같은 트랜잭션에서 findLastSeq로 발급된 값을 읽음, 커밋까지 행 잠금 유지)
+     */
+    @Modifying
+    @Query(value = "UPDATE waiting_room SET last_seq = last_seq + 1, last_activity_at = NOW(6)"
+            + " WHERE ticket_management_id = :id",
+            nativeQuery = true)
+    int incrementLastSeq(@Param("id") Long ticketManagementId);
+
+    @Query(value = "SELECT last_seq FROM waiting_room WHERE ticket_management_id = :id", nativeQuery = true)
+    long findLastSeq(@Param("id") Long ticketManagementId);
+
+    /**
+     * 읽은 뒤 다른 인스턴스가 허가하지 않았을 때만 허가 순번 전진
+     *
+     * @return 전진했으면 1
+     */
+    @Modifying
+    @Query(value = "UPDATE waiting_room SET admitted_seq = :newSeq, admitted_at = :newAt"
+            + " WHERE ticket_management_id = :id AND admitted_seq = :oldSeq AND admitted_at = :oldAt",
+            nativeQuery = true)
+    int advance(@Param("id") Long ticketManagementId,
+                @Param("oldSeq") long oldSeq, @Param("oldAt") LocalDateTime oldAt,
+                @Param("newSeq") long newSeq, @Param("newAt") LocalDateTime newAt);
+
+    // 모두 허가되었고 오래 입장이 없던 대기실 삭제
+    @Modifying
+    @Query(value = "DELETE FROM waiting_room WHERE ticket_management_id = :id"
+            + " AND last_activity_at < :before AND admitted_seq >= last_seq",
+            nativeQuery = true)
+    int deleteIfIdle(@Param("id") Long ticketManagementId, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,144 @@
+package com.authserver.service;
+
+import com.authserver.entity.RideUsageStatus;
+import com.authserver.repository.ActiveWaiterView;
+import com.authserver.repository.RideUsageRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 대기 중(WAITED)인 사용자 -> 놀이기구 ID 메모리 색인
+ *
+ * 사용자 대기열 상태 브로드캐스트가 매번 WAITED 이용 기록 전체를 엔티티로 읽던 것을 메모리 조회로 대체합니다.
+ * RideUsageService의 대기 시작/완료/취소/노쇼가 커밋된 뒤 반영되며,
+ * 시작 시와 주기적으로 (userId, rideId) 프로젝션 조회로 다시 적재하여 다른 인스턴스의 변경을 따라잡습니다.
+ * 다시 적재하는 동안 반영된 변경은 따로 모아 두었다가 새로 읽은 색인에 다시 적용한 뒤 교체하므로,
+ * 조회 시점 이후에 커밋된 대기 시작/종료가 교체로 사라지지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActiveWaiterIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiveWaiterIndex.class);
+
+    private final RideUsageRepository rideUsageRepository;
+
+    private volatile Map<Long, Set<Long>> ridesByUser = new ConcurrentHashMap<>();
+
+    // 변경 반영과 색인 교체를 직렬화 (DB 조회 중에는 잡지 않음)
+    private final Object deltaLock = new Object();
+    // 다시 적재하는 동안 반영된 변경 (적재 중이 아니면 null)
+    private List<Delta> pendingDeltas;
+
+    /**
+     * 커밋된 대기 시작/종료 하나 (여러 번 적용해도 결과가 같음)
+     */
+    private record Delta(Long userId, Long rideId, boolean waiting) {
+
+        private void applyTo(Map<Long, Set<Long>> index) {
+            if (waiting) {
+                index.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(rideId);
+            } else {
+                index.computeIfPresent(userId, (id, rideIds) -> {
+                    rideIds.remove(rideId);
+                    return rideIds.isEmpty() ? null : rideIds;
+                });
+            }
+        }
+    }
+
+    /**
+     * 시작 시 및 주기적으로 대기 중인 이용 기록을 다시 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${ride.waiters.reload-interval-ms:300000}",
+            initialDelayString = "${ride.waiters.reload-interval-ms:300000}")
+    public synchronized void reload() {
+        synchronized (deltaLock) {
+            pendingDeltas = new ArrayList<>();
+        }
+        try {
+            Map<Long, Set<Long>> loaded = new ConcurrentHashMap<>();
+            for (ActiveWaiterView waiter : rideUsageRepository.findWaitersByStatus(RideUsageStatus.WAITED)) {
+                loaded.computeIfAbsent(waiter.getUserId(), id -> ConcurrentHashMap.newKeySet()).add(waiter.getRideId());
+            }
+            int replayed;
+            synchronized (deltaLock) {
+                replayed = pendingDeltas.size();
+                pendingDeltas.forEach(delta -> delta.applyTo(loaded));
+                ridesByUser = loaded;
+            }
+            logger.debug("대기 사용자 색인 적재 완료 - 사용자 수={}, 적재 중 변경={}", loaded.size(), replayed);
+        } catch (Exception e) {
+            logger.error("대기 사용자 색인 적재 실패", e);
+        } finally {
+            synchronized (deltaLock) {
+                pendingDeltas = null;
+            }
+        }
+    }
+
+    /**
+     * 대기 중인 사용자 ID (읽기 전용 뷰)
+     */
+    public Set<Long> getWaitingUserIds() {
+        return Collections.unmodifiableSet(ridesByUser.keySet());
+    }
+
+    /**
+     * 사용자가 한 놀이기구 이상에서 대기 중인지 여부
+     */
+    public boolean isWaiting(Long userId) {
+        return ridesByUser.containsKey(userId);
+    }
+
+    /**
+     * 대기 시작 반영 (트랜잭션 안이면 커밋 후 반영)
+     */
+    public void onWaiting(Long userId, Long rideId) {
+        afterCommit(new Delta(userId, rideId, true));
+    }
+
+    /**
+     * 대기 종료(완료/취소/노쇼) 반영 (트랜잭션 안이면 커밋 후 반영)
+     */
+    public void onWaitEnded(Long userId, Long rideId) {
+        afterCommit(new Delta(userId, rideId, false));
+    }
+
+    private void apply(Delta delta) {
+        synchronized (deltaLock) {
+            delta.applyTo(ridesByUser);
+            if (pendingDeltas != null) {
+                pendingDeltas.add(delta);
+            }
+        }
+    }
+
+    private void afterCommit(Delta delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(delta);
+            }
+        });
+    }
+}
@@ -0,0 +1,172 @@
+package com.authserver.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 브로드캐스트 작업 전용 스케줄러
+ *
+ * 기본 @Scheduled 단일 스레드와 분리된 스레드 풀에서 작업마다 다음 실행을 직접 예약하므로 같은 작업이 겹쳐 실행되지 않습니다.
+ * 첫 실행과 매 주기에 지터를 더해 여러 작업/인스턴스가 대기열 서버를 동시에 호출하지 않게 하고,
+ * 작업이 변경을 반영했으면 주기를 절반으로 줄이고(최소 주기까지) 변경이 없으면 1.5배로 늘립니다(최대 주기까지).
+ * 작업별 실행 시간, 예약 대비 시작 지연, 실행이 길어져 건너뛴 주기 수를 지표로 남깁니다.
+ */
+@Component
+public class BroadcastJobScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BroadcastJobScheduler.class);
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+    private final List<Job> jobs = new CopyOnWriteArrayList<>();
+    private volatile boolean started;
+
+    // 예약 시각에 더하는 무작위 지연 비율 (주기 대비)
+    @Value("${websocket.broadcast.scheduler.jitter-ratio:0.1}")
+    private double jitterRatio;
+
+    public BroadcastJobScheduler(MeterRegistry meterRegistry,
+                                 @Value("${websocket.broadcast.scheduler.pool-size:3}") int poolSize) {
+        this.meterRegistry = meterRegistry;
+        taskScheduler.setPoolSize(poolSize);
+        taskScheduler.setThreadNamePrefix("broadcast-scheduler-");
+        taskScheduler.setWaitForTasksToCompleteOnShutdown(false);
+        taskScheduler.initialize();
+    }
+
+    /**
+     * 작업 등록 (애플리케이션 준비 완료 후 최소 주기 x 지터 비율 안의 무작위 시점부터 실행)
+     *
+     * @param task 실행 후 변경을 반영했으면 true를 반환
+     */
+    public void register(String name, Duration minInterval, Duration maxInterval, BooleanSupplier task) {
+        if (minInterval.isNegative() || minInterval.isZero() || maxInterval.compareTo(minInterval) < 0) {
+            throw new IllegalArgumentException("잘못된 작업 주기입니다: " + name);
+        }
+        Job job = new Job(name, minInterval.toMillis(), maxInterval.toMillis(), task);
+        jobs.add(job);
+        if (started) {
+            job.start();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        started = true;
+        jobs.forEach(Job::start);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        taskScheduler.shutdown();
+    }
+
+    private long jitter(long intervalMillis) {
+        long bound = (long) (intervalMillis * jitterRatio);
+        return bound > 0 ? ThreadLocalRandom.current().nextLong(bound + 1) : 0;
+    }
+
+    private final class Job {
+
+        private final String name;
+        private final long minIntervalMillis;
+        private final long maxIntervalMillis;
+        private final BooleanSupplier task;
+
+        private final Timer duration;
+        private final Timer lag;
+        private final Counter skipped;
+
+        private volatile long intervalMillis;
+
+        // 지터를 더하기 전의 예약 시각 (주기 계산 기준)
+        private long plannedAt;
+
+        private Job(String name, long minIntervalMillis, long maxIntervalMillis, BooleanSupplier task) {
+            this.name = name;
+            this.minIntervalMillis = minIntervalMillis;
+            this.maxIntervalMillis = maxIntervalMillis;
+            this.task = task;
+            this.intervalMillis = maxIntervalMillis;
+            this.duration = Timer.builder("websocket.broadcast.job.duration")
+                    .description("브로드캐스트 작업 실행 시간")
+                    .tag("job", name)
+                    .register(meterRegistry);
+            this.lag = Timer.builder("websocket.broadcast.job.lag")
+                    .description("예약 시각 대비 브로드캐스트 작업 시작 지연")
+                    .tag("job", name)
+                    .register(meterRegistry);
+            this.skipped = Counter.builder("websocket.broadcast.job.skipped")
+                    .description("이전 실행이 길어져 건너뛴 브로드캐스트 주기 수")
+                    .tag("job", name)
+                    .register(meterRegistry);
+            Gauge.builder("websocket.broadcast.job.interval", this, job -> job.intervalMillis)
+                    .description("현재 브로드캐스트 작업 주기")
+                    .tag("job", name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+
+        private void start() {
+            // 작업마다 시작 시점을 흩어 놓음
+            plannedAt = System.currentTimeMillis() + jitter(minIntervalMillis);
+            scheduleAt(plannedAt);
+        }
+
+        private void scheduleAt(long startAt) {
+            try {
+                taskScheduler.schedule(() -> run(startAt), Instant.ofEpochMilli(startAt));
+            } catch (RuntimeException e) {
+                // 종료 중에는 예약이 거부됨
+                logger.debug("브로드캐스트 작업 예약 실패 - job={}", name, e);
+            }
+        }
+
+        private void run(long scheduledAt) {
+            long startedAt = System.currentTimeMillis();
+            lag.record(Duration.ofMillis(Math.max(0, startedAt - scheduledAt)));
+
+            boolean changed = false;
+            long startNanos = System.nanoTime();
+            try {
+                changed = task.getAsBoolean();
+            } catch (Exception e) {
+                logger.error("브로드캐스트 작업 실패 - job={}", name, e);
+            } finally {
+                duration.record(Duration.ofNanos(System.nanoTime() - startNanos));
+            }
+
+            intervalMillis = changed
+                    ? Math.max(minIntervalMillis, intervalMillis / 2)
+                    : Math.min(maxIntervalMillis, intervalMillis * 3 / 2);
+
+            // 다음 예약 시각이 이미 지났으면 그 주기는 건너뜀 (밀린 실행을 몰아서 하지 않음)
+            long now = System.currentTimeMillis();
+            plannedAt += intervalMillis;
+            if (plannedAt <= now) {
+                long missed = (now - plannedAt) / intervalMillis + 1;
+                skipped.increment(missed);
+                plannedAt += missed * intervalMillis;
+                logger.warn("브로드캐스트 작업 주기 초과로 {}회 건너뜀 - job={}, 실행시간={}ms", missed, name, now - startedAt);
+            }
+            scheduleAt(plannedAt + jitter(intervalMillis));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.authserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.authserver.config.StompPayloadFormatInterceptor;
+import com.authserver.util.CborPayload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * 직렬화를 한 번만 하는 WebSocket 브로드캐스트 전송기
+ *
+ * convertAndSend는 호출마다 Jackson 변환과 버퍼 할당을 하므로, 여기서는 payload를 JSON 바이트로 한 번 인코딩한
+ * Message를 만들어 여러 목적지/구독 세션에 그대로 재사용합니다. 브로커는 세션별 메시지를 만들 때 같은 바이트 배열을 공유합니다.
+ * 인코딩/전송 횟수와 크기를 지표로 내보내며, 할당률/CPU는 jvm.gc.memory.allocated, process.cpu.usage로 함께 확인합니다.
+ */
+@Component
+public class BroadcastPublisher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Timer encodeTimer;
+    private final DistributionSummary payloadSize;
+    private final Counter sendCounter;
+
+    public BroadcastPublisher(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.encodeTimer = Timer.builder("websocket.broadcast.encode")
+                .description("브로드캐스트 payload JSON 인코딩 시간 (payload당 1회)")
+                .register(meterRegistry);
+        this.payloadSize = DistributionSummary.builder("websocket.broadcast.payload.size")
+                .description("인코딩된 브로드캐스트 payload 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.sendCounter = Counter.builder("websocket.broadcast.sends")
+                .description("인코딩된 payload를 재사용한 목적지 전송 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * payload를 JSON으로 한 번 인코딩한 불변 메시지 생성
+     */
+    public Message<byte[]> encode(Object payload) {
+        byte[] body = encodeTimer.record(() -> {
+            try {
+                return objectMapper.writeValueAsBytes(payload);
+            } catch (Exception e) {
+                throw new IllegalStateException("브로드캐스트 메시지 직렬화 실패: " + payload.getClass().getSimpleName(), e);
+            }
+        });
+        payloadSize.record(body.length);
+        return wrap(body);
+    }
+
+    /**
+     * 이미 JSON으로 인코딩된 바이트를 메시지로 감쌈 (다른 노드에서 중계된 payload 등)
+     */
+    public Message<byte[]> wrap(byte[] body) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        // CBOR를 선택한 세션들이 변환 결과를 공유하도록 홀더를 함께 실어 보냄
+        accessor.setHeader(StompPayloadFormatInterceptor.CBOR_PAYLOAD_HEADER, new CborPayload(body));
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+    }
+
+    /**
+     * 인코딩된 메시지를 목적지로 전송 (같은 메시지를 여러 목적지에 재사용 가능)
+     */
+    public void send(String destination, Message<byte[]> encoded) {
+        messagingTemplate.send(destination, encoded);
+        sendCounter.increment();
+    }
+
+    /**
+     * 특정 사용자의 모든 세션으로 전송 (convertAndSendToUser와 같은 사용자 목적지 처리)
+     * 사용자 -> 세션 조회는 SimpUserRegistry에서, 세션별 목적지는 구독 색인에서 바로 찾음
+     *
+     * @param destination 사용자 목적지 접두사를 뺀 목적지 (예: /sub/queue-status)
+     */
+    public void sendToUser(Long userId, String destination, Object payload) {
+        send(userDestination(userId, destination), encode(payload));
+    }
+
+    /**
+     * 사용자 목적지 문자열 (/user/{userId}{destination})
+     */
+    public String userDestination(Long userId, String destination) {
+        return messagingTemplate.getUserDestinationPrefix() + userId + destination;
+    }
+
+    /**
+     * 한 목적지로 보낼 payload를 인코딩하여 전송
+     */
+    public void send(String destination, Object payload) {
+        send(destination, encode(payload));
+    }
+}
@@ -0,0 +1,39 @@
+package com.authserver.service;
+
+import com.authserver.repository.SchedulerLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+/**
+ * MariaDB scheduler_lease 행 기반 임대 저장소 (조건부 UPDATE 한 번으로 획득/연장)
+ */
+@Component
+@ConditionalOnProperty(name = "scheduler.leader.store", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DatabaseLeaseStore implements LeaseStore {
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Override
+    @Transactional
+    public boolean tryAcquire(String leaseName, String owner, Duration ttl) {
+        if (schedulerLeaseRepository.tryAcquire(leaseName, owner, ttl.toMillis()) > 0) {
+            return true;
+        }
+        // 처음 사용하는 임대 이름이면 행을 만든 뒤 한 번 더 시도
+        if (schedulerLeaseRepository.createIfMissing(leaseName) > 0) {
+            return schedulerLeaseRepository.tryAcquire(leaseName, owner, ttl.toMillis()) > 0;
+        }
+        return false;
+    }
+
+    @Override
+    @Transactional
+    public void release(String leaseName, String owner) {
+        schedulerLeaseRepository.release(leaseName, owner);
+    }
+}
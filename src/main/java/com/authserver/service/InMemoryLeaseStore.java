@@ -0,0 +1,41 @@
+package com.authserver.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 메모리 임대 저장소 (단일 프로세스 테스트/로컬 실행용)
+ * 같은 인스턴스를 여러 LeaderElectionService가 공유하면 프로세스 안에서 여러 노드의 선출을 흉내낼 수 있습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "scheduler.leader.store", havingValue = "memory")
+public class InMemoryLeaseStore implements LeaseStore {
+
+    private record Lease(String owner, long expiresAtNanos) {
+    }
+
+    private final Map<String, Lease> leases = new HashMap<>();
+
+    @Override
+    public synchronized boolean tryAcquire(String leaseName, String owner, Duration ttl) {
+        long now = System.nanoTime();
+        Lease current = leases.get(leaseName);
+        if (current != null && !current.owner().equals(owner) && current.expiresAtNanos() - now > 0) {
+            return false;
+        }
+        leases.put(leaseName, new Lease(owner, now + ttl.toNanos()));
+        return true;
+    }
+
+    @Override
+    public synchronized void release(String leaseName, String owner) {
+        Lease current = leases.get(leaseName);
+        if (current != null && current.owner().equals(owner)) {
+            leases.remove(leaseName);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.authserver.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * 대기열 서버 조회 작업의 리더 선출
+ *
+ * 여러 인스턴스 중 임대를 가진 한 곳만 놀이기구 대기 시간 보정 조회를 수행하고, 결과를 대기 시간 토픽으로 공유합니다.
+ * 리더는 renew-interval마다 임대를 연장하며, 연장하지 못하면 임대 시간이 지나는 즉시 스스로 리더 역할을 멈추고
+ * 다른 인스턴스가 만료된 임대를 가져갑니다(장애 전환은 최대 lease-ms + renew-interval-ms).
+ * 리더 여부는 scheduler.leader 게이지와 scheduler.leader.transitions 카운터, 로그로 확인합니다.
+ *
+ * scheduler.leader.enabled=false(기본, 단일 인스턴스)이면 항상 리더로 동작합니다.
+ */
+@Service
+public class LeaderElectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderElectionService.class);
+    public static final String BROADCAST_LEASE = "websocket-broadcast";
+
+    private final LeaseStore leaseStore;
+    private final String nodeId;
+    private final boolean enabled;
+    private final Duration leaseTime;
+
+    private final Counter acquiredCounter;
+    private final Counter lostCounter;
+
+    private volatile boolean leader;
+
+    // 로컬 기준 임대 유효 기한 (연장 요청 직전 시각 + 임대 시간이므로 DB 만료 시각보다 앞섬)
+    private volatile long validUntilNanos;
+
+    public LeaderElectionService(LeaseStore leaseStore, MeterRegistry meterRegistry,
+                                 @Value("${scheduler.leader.enabled:false}") boolean enabled,
+                                 @Value("${scheduler.leader.lease-ms:15000}") long leaseMs,
+                                 @Value("${scheduler.leader.node-id:}") String nodeId) {
+        this.leaseStore = leaseStore;
+        this.enabled = enabled;
+        this.leaseTime = Duration.ofMillis(leaseMs);
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString();
+        this.acquiredCounter = transitionCounter(meterRegistry, "acquired");
+        this.lostCounter = transitionCounter(meterRegistry, "lost");
+        Gauge.builder("scheduler.leader", this, service -> service.isLeader() ? 1 : 0)
+                .description("이 인스턴스가 대기열 조회 작업의 리더이면 1")
+                .tag("lease", BROADCAST_LEASE)
+                .register(meterRegistry);
+    }
+
+    private static Counter transitionCounter(MeterRegistry meterRegistry, String to) {
+        return Counter.builder("scheduler.leader.transitions")
+                .description("리더 역할 획득/상실 횟수")
+                .tag("lease", BROADCAST_LEASE)
+                .tag("to", to)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이 인스턴스가 지금 리더인지 여부
+     */
+    public boolean isLeader() {
+        if (!enabled) {
+            return true;
+        }
+        return leader && validUntilNanos - System.nanoTime() > 0;
+    }
+
+    /**
+     * 여러 인스턴스가 리더 선출에 참여 중인지 여부 (리더가 조회 결과를 다른 인스턴스와 공유해야 하는지)
+     */
+    public boolean isClustered() {
+        return enabled;
+    }
+
+    /**
+     * 시작 시 및 주기적으로 임대 획득/연장
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${scheduler.leader.renew-interval-ms:5000}",
+            initialDelayString = "${scheduler.leader.renew-interval-ms:5000}")
+    public synchronized void renew() {
+        if (!enabled) {
+            return;
+        }
+        long requestedAt = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = leaseStore.tryAcquire(BROADCAST_LEASE, nodeId, leaseTime);
+        } catch (Exception e) {
+            logger.error("리더 임대 연장 실패 - nodeId={}", nodeId, e);
+            acquired = false;
+        }
+        if (acquired) {
+            validUntilNanos = requestedAt + leaseTime.toNanos();
+        }
+
+        if (acquired != leader) {
+            leader = acquired;
+            if (acquired) {
+                acquiredCounter.increment();
+                logger.info("리더 역할 획득 - lease={}, nodeId={}", BROADCAST_LEASE, nodeId);
+            } else {
+                lostCounter.increment();
+                logger.warn("리더 역할 상실 - lease={}, nodeId={}", BROADCAST_LEASE, nodeId);
+            }
+        }
+    }
+
+    /**
+     * 종료 시 임대를 반납하여 다른 인스턴스가 만료를 기다리지 않고 이어받게 함
+     */
+    @PreDestroy
+    synchronized void resign() {
+        if (!enabled || !leader) {
+            return;
+        }
+        leader = false;
+        try {
+            leaseStore.release(BROADCAST_LEASE, nodeId);
+            logger.info("리더 임대 반납 - lease={}, nodeId={}", BROADCAST_LEASE, nodeId);
+        } catch (Exception e) {
+            logger.warn("리더 임대 반납 실패 - nodeId={}", nodeId, e);
+        }
+    }
+}
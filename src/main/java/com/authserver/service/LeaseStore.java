@@ -0,0 +1,21 @@
+package com.authserver.service;
+
+import java.time.Duration;
+
+/**
+ * 리더 선출용 임대 저장소
+ */
+public interface LeaseStore {
+
+    /**
+     * 임대가 비었거나 만료되었거나 이미 owner 것이면 ttl만큼 획득/연장
+     *
+     * @return 획득/연장했으면 true
+     */
+    boolean tryAcquire(String leaseName, String owner, Duration ttl);
+
+    /**
+     * owner가 보유 중인 임대를 즉시 반납
+     */
+    void release(String leaseName, String owner);
+}
@@ -0,0 +1,118 @@
+package com.authserver.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 현재 구독자가 있는 목적지 목록
+ *
+ * STOMP SUBSCRIBE/UNSUBSCRIBE/DISCONNECT 이벤트로 유지되며,
+ * 스케줄러는 구독자가 있는 놀이기구/사용자에 대해서만 대기열 서버를 조회하고 전송합니다.
+ */
+@Component
+public class LiveSubscriptionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveSubscriptionRegistry.class);
+
+    public static final String RIDES_MINUTES_DESTINATION = "/sub/rides/minutes";
+    public static final String USER_QUEUE_STATUS_DESTINATION = "/sub/queue-status";
+    static final String USER_QUEUE_STATUS_SUBSCRIPTION = "/user" + USER_QUEUE_STATUS_DESTINATION;
+    private static final Pattern RIDE_INFO_DESTINATION = Pattern.compile("^/sub/rides/(\\d{1,18})/info$");
+    private static final Pattern USER_STATUS_DESTINATION = Pattern.compile("^/user/(\\d{1,18})/sub/queue-status$");
+
+    // 세션 ID -> 구독 ID -> 목적지
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+
+    // 목적지 -> 구독 수
+    private final Map<String, Integer> subscriberCounts = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        String destination = accessor.getDestination();
+        if (sessionId == null || subscriptionId == null || destination == null) {
+            return;
+        }
+        // 개인 채널은 전송 측 목적지 형식(/user/{userId}/sub/queue-status)으로 기록
+        if (USER_QUEUE_STATUS_SUBSCRIPTION.equals(destination) && event.getUser() != null) {
+            destination = "/user/" + event.getUser().getName() + USER_QUEUE_STATUS_DESTINATION;
+        }
+
+        String previous = sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+        if (previous != null) {
+            decrement(previous);
+        }
+        subscriberCounts.merge(destination, 1, Integer::sum);
+        logger.debug("구독 등록 - sessionId={}, destination={}", sessionId, destination);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = sessions.get(accessor.getSessionId());
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        String destination = subscriptions.remove(accessor.getSubscriptionId());
+        if (destination != null) {
+            decrement(destination);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    /**
+     * 목적지에 구독자가 한 명 이상 있는지 여부
+     */
+    public boolean hasSubscribers(String destination) {
+        return subscriberCounts.containsKey(destination);
+    }
+
+    /**
+     * /sub/rides/{rideId}/info 구독자가 있는 놀이기구 ID
+     */
+    public Set<Long> getSubscribedRideIds() {
+        return idsOf(RIDE_INFO_DESTINATION);
+    }
+
+    /**
+     * /user/sub/queue-status 를 구독 중인 인증 사용자 ID
+     */
+    public Set<Long> getSubscribedUserIds() {
+        return idsOf(USER_STATUS_DESTINATION);
+    }
+
+    private Set<Long> idsOf(Pattern destinationPattern) {
+        return subscriberCounts.keySet().stream()
+                .map(destinationPattern::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> Long.valueOf(matcher.group(1)))
+                .collect(Collectors.toSet());
+    }
+
+    private void decrement(String destination) {
+        subscriberCounts.computeIfPresent(destination, (d, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -0,0 +1,110 @@
+package com.authserver.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebSocket 송신 채널이 포화되면 포화를 일으킨 파티션의 대기열 이벤트 소비를 일시 중지하는 모니터
+ *
+ * clientOutboundChannel 작업 큐가 high-watermark를 넘으면, 직전 확인 이후 소비 중인 파티션 평균 이상으로
+ * 이벤트를 보낸 파티션만 pause합니다. 인기 놀이기구의 알림 폭주가 몰린 파티션만 멈추고 나머지 파티션의 알림은 계속 전달되며,
+ * 부하가 고르게 퍼져 있으면 모든 파티션이 평균 이상이 되어 전부 멈춥니다. 포화가 계속되면 확인할 때마다 남은 파티션 중에서 다시 고릅니다.
+ * low-watermark 아래로 내려오면 중지한 파티션을 모두 resume합니다. 중지된 동안의 이벤트는 Kafka에 남아 있으므로 유실되지 않습니다.
+ */
+@Component
+public class QueueEventBackpressureMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueEventBackpressureMonitor.class);
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final ThreadPoolTaskExecutor outboundExecutor;
+    private final QueueEventConsumerService queueEventConsumerService;
+
+    // 이 모니터가 중지한 파티션
+    private final Set<TopicPartition> pausedPartitions = ConcurrentHashMap.newKeySet();
+
+    @Value("${queue.event.backpressure.high-watermark:10000}")
+    private int highWatermark;
+
+    @Value("${queue.event.backpressure.low-watermark:2000}")
+    private int lowWatermark;
+
+    public QueueEventBackpressureMonitor(KafkaListenerEndpointRegistry listenerRegistry,
+                                         @Qualifier("clientOutboundChannelExecutor") ThreadPoolTaskExecutor outboundExecutor,
+                                         QueueEventConsumerService queueEventConsumerService,
+                                         MeterRegistry meterRegistry) {
+        this.listenerRegistry = listenerRegistry;
+        this.outboundExecutor = outboundExecutor;
+        this.queueEventConsumerService = queueEventConsumerService;
+        Gauge.builder("websocket.outbound.queue.size", this, QueueEventBackpressureMonitor::outboundQueueSize)
+                .description("WebSocket 송신 채널 대기 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("queue.event.consumer.paused.partitions", pausedPartitions, Set::size)
+                .description("송신 채널 포화로 대기열 이벤트 소비를 중지한 파티션 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${queue.event.backpressure.check-interval-ms:200}")
+    public void check() {
+        Map<Integer, Long> dispatched = queueEventConsumerService.takeDispatchedCounts();
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(QueueEventConsumerService.LISTENER_ID);
+        if (container == null || !container.isRunning()) {
+            return;
+        }
+
+        int queued = outboundQueueSize();
+        if (!pausedPartitions.isEmpty() && queued < lowWatermark) {
+            pausedPartitions.forEach(container::resumePartition);
+            logger.info("WebSocket 송신 채널 회복, 대기열 이벤트 소비 재개 - 대기작업={}, 파티션={}", queued, pausedPartitions);
+            pausedPartitions.clear();
+            return;
+        }
+        if (queued <= highWatermark) {
+            return;
+        }
+
+        Collection<TopicPartition> assigned = container.getAssignedPartitions();
+        if (assigned == null) {
+            return;
+        }
+        List<TopicPartition> running = assigned.stream()
+                .filter(partition -> !pausedPartitions.contains(partition))
+                .toList();
+        long total = running.stream()
+                .mapToLong(partition -> dispatched.getOrDefault(partition.partition(), 0L))
+                .sum();
+        if (total == 0) {
+            // 소비 중인 파티션이 새로 보낸 것이 없으면 이미 쌓인 작업이 빠지기를 기다림
+            return;
+        }
+
+        double average = (double) total / running.size();
+        List<TopicPartition> hot = running.stream()
+                .filter(partition -> dispatched.getOrDefault(partition.partition(), 0L) >= average)
+                .toList();
+        hot.forEach(container::pausePartition);
+        pausedPartitions.addAll(hot);
+        logger.warn("WebSocket 송신 채널 포화, 대기열 이벤트 소비 중지 - 대기작업={}, 중지={}, 소비 중={}",
+                queued, hot, running.size() - hot.size());
+    }
+
+    private int outboundQueueSize() {
+        return outboundExecutor.getThreadPoolExecutor().getQueue().size();
+    }
+}
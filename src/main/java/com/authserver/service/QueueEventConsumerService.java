@@ -1,65 +1,247 @@
 package com.authserver.service;
 
+import com.authserver.dto.queue.QueueEvent;
+import com.authserver.dto.websocket.QueueEventBatchMessage;
 import com.authserver.dto.websocket.QueueEventMessage;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.authserver.util.EventLogSampler;
+import com.authserver.util.EventLogSampler.Category;
+import com.authserver.util.LongDedupeWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Kafka로부터 대기열 이벤트를 수신하여 WebSocket으로 전달하는 서비스
+ *
+ * 여러 컨테이너 스레드가 파티션을 나눠 소비하고, 전송은 userId 해시로 고른 단일 스레드 레인에서 수행하여
+ * 같은 사용자의 알림 순서를 보장합니다. 인기 놀이기구의 알림 폭주가 다른 사용자의 알림을 막지 않도록
+ * 레인 수만큼 병렬로 전송합니다.
+ *
+ * 재시도나 다시 읽기로 같은 이벤트가 다시 전달되면 파티션별 중복 판별 윈도우에서 걸러 알림이 두 번 가지 않게 합니다.
+ * 지문은 eventId, 없으면 내용과 발행 시각 기준이라 발행 측 재시도로 생긴 사본도 걸러집니다(QueueEvent.fingerprint).
+ * 윈도우는 인스턴스 메모리에 있으므로 다른 인스턴스로 옮겨 간 파티션에는 적용되지 않습니다.
+ * 대신 오프셋은 배치 전송이 끝날 때마다 동기 커밋되고, 리밸런스로 파티션을 내줄 때도 처리한 배치까지 커밋한 뒤 넘기므로
+ * (KafkaConsumerConfig) 새 소유 인스턴스는 이미 보낸 레코드를 다시 읽지 않습니다.
+ * 커밋 전에 인스턴스가 비정상 종료된 경우에만 마지막 배치의 알림이 한 번 더 갈 수 있습니다.
+ * 사용자 세션이 다른 노드에 있을 수 있으므로 전송은 UserMessageRelay를 거칩니다.
  */
 @Service
 @RequiredArgsConstructor
 public class QueueEventConsumerService {
 
     private static final Logger logger = LoggerFactory.getLogger(QueueEventConsumerService.class);
+    public static final String LISTENER_ID = "queueEventListener";
+
+    private final UserMessageRelay userMessageRelay;
+    private final RideCatalog rideCatalog;
+    private final EventLogSampler eventLog;
+    private final MeterRegistry meterRegistry;
+
+    // 파티션별 이벤트 발행부터 전송 완료까지의 지연
+    private final Map<Integer, Timer> deliveryTimers = new ConcurrentHashMap<>();
+
+    // 파티션별 전송 대상으로 넘긴 이벤트 수 (QueueEventBackpressureMonitor가 확인할 때마다 초기화)
+    private final Map<Integer, LongAdder> dispatchedByPartition = new ConcurrentHashMap<>();
+
+    // 파티션별 최근 처리한 이벤트 지문
+    private final Map<Integer, LongDedupeWindow> dedupeWindows = new ConcurrentHashMap<>();
+
+    @Value("${queue.event.dedupe.window-size:16384}")
+    private int dedupeWindowSize;
+
+    @Value("${queue.event.dedupe.retention-ms:600000}")
+    private long dedupeRetentionMs;
+
+    private Counter duplicateCounter;
 
-    private final SimpMessagingTemplate messagingTemplate;
-    private final RideService rideService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Value("${queue.event.delivery-lanes:8}")
+    private int laneCount;
+
+    private ExecutorService[] lanes;
+
+    @PostConstruct
+    void startLanes() {
+        duplicateCounter = Counter.builder("queue.event.duplicates.suppressed")
+                .description("중복으로 판별되어 전송하지 않은 대기열 이벤트 수")
+                .register(meterRegistry);
+
+        lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            int lane = i;
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "queue-event-lane-" + lane);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    void stopLanes() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
 
     /**
-     * Kafka로부터 대기열 이벤트 수신
+     * Kafka로부터 대기열 이벤트를 배치로 수신
+     *
+     * 1. 원본 바이트를 스트리밍 파서로 QueueEvent로 변환 (잘못된 메시지, 이미 처리한 이벤트는 건너뜀)
+     * 2. 같은 사용자/놀이기구의 이벤트는 마지막 것만 남김 (ALMOST_READY 직후 READY 등)
+     * 3. 놀이기구 이름은 배치당 한 번만 조회
+     * 4. 사용자당 한 번만 WebSocket으로 전송
      *
-     * @param message 카프카 메시지 (JSON 형식)
+     * @param records 카프카 메시지 배치 (JSON 바이트)
      */
-    @KafkaListener(topics = "queue-event-topic", groupId = "main-server-group")
-    public void consumeQueueEvent(String message) {
-        logger.info("Kafka 메시지 수신: {}", message);
+    @KafkaListener(id = LISTENER_ID, topics = "queue-event-topic", groupId = "main-server-group",
+            containerFactory = "queueEventBatchContainerFactory")
+    public void consumeQueueEvents(List<ConsumerRecord<String, byte[]>> records) {
+        List<QueueEvent> events = new ArrayList<>(records.size());
+        Map<Integer, Long> oldestTimestampByPartition = new LinkedHashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            oldestTimestampByPartition.merge(record.partition(), record.timestamp(), Math::min);
+            try {
+                QueueEvent event = QueueEvent.parse(record.value());
+                long fingerprint = event.fingerprint(record.partition(), record.offset(), record.timestamp());
+                if (dedupeWindow(record.partition()).add(fingerprint, System.currentTimeMillis())) {
+                    events.add(event);
+                    dispatchedByPartition.computeIfAbsent(record.partition(), p -> new LongAdder()).increment();
+                } else {
+                    duplicateCounter.increment();
+                    logger.debug("중복 대기열 이벤트 무시 - partition={}, offset={}, userId={}, rideId={}, status={}",
+                            record.partition(), record.offset(), event.userId(), event.rideId(), event.status());
+                }
+            } catch (Exception e) {
+                logger.error("Kafka 메시지 파싱 실패 - partition={}, offset={}, message={}",
+                        record.partition(), record.offset(),
+                        record.value() == null ? null : new String(record.value(), StandardCharsets.UTF_8), e);
+            }
+        }
+
+        logger.debug("Kafka 메시지 배치 수신 - 수신={}, 변환={}", records.size(), events.size());
+        dispatchEvents(events);
+
+        long now = System.currentTimeMillis();
+        oldestTimestampByPartition.forEach((partition, timestamp) ->
+                deliveryTimer(partition).record(Duration.ofMillis(Math.max(0, now - timestamp))));
+    }
+
+    /**
+     * 직전 호출 이후 파티션별로 전송 대상으로 넘긴 이벤트 수를 반환하고 초기화
+     */
+    Map<Integer, Long> takeDispatchedCounts() {
+        Map<Integer, Long> counts = new HashMap<>();
+        dispatchedByPartition.forEach((partition, count) -> counts.put(partition, count.sumThenReset()));
+        return counts;
+    }
 
+    private LongDedupeWindow dedupeWindow(int partition) {
+        return dedupeWindows.computeIfAbsent(partition,
+                p -> new LongDedupeWindow(dedupeWindowSize, dedupeRetentionMs));
+    }
+
+    private Timer deliveryTimer(int partition) {
+        return deliveryTimers.computeIfAbsent(partition, p -> Timer.builder("queue.event.delivery.latency")
+                .description("Kafka 이벤트 발행부터 WebSocket 전송까지의 지연 (배치 내 가장 오래된 이벤트 기준)")
+                .tag("partition", String.valueOf(p))
+                .register(meterRegistry));
+    }
+
+    /**
+     * JSON 문자열 단건 처리 (시뮬레이터 등 Kafka를 거치지 않는 경로용)
+     *
+     * @param message 대기열 이벤트 (JSON 형식)
+     */
+    public void consumeQueueEvent(String message) {
         try {
-            // JSON 파싱
-            JsonNode jsonNode = objectMapper.readTree(message);
+            dispatchEvents(List.of(QueueEvent.parse(message.getBytes(StandardCharsets.UTF_8))));
+        } catch (Exception e) {
+            logger.error("대기열 이벤트 처리 중 오류 발생: {}", message, e);
+        }
+    }
+
+    /**
+     * 사용자별로 묶어 레인에 나눠 전송하고, 모두 끝날 때까지 대기 (오프셋 커밋은 전송 이후)
+     */
+    private void dispatchEvents(List<QueueEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
 
-            Long rideId = jsonNode.get("rideId").asLong();
-            Long userId = jsonNode.get("userId").asLong();
-            String type = jsonNode.get("type").asText();
-            String status = jsonNode.get("status").asText();
+        // userId -> (rideId -> 마지막 이벤트), 도착 순서 유지
+        Map<Long, Map<Long, QueueEvent>> eventsByUser = new LinkedHashMap<>();
+        for (QueueEvent event : events) {
+            eventsByUser.computeIfAbsent(event.userId(), userId -> new LinkedHashMap<>())
+                    .put(event.rideId(), event);
+        }
 
-            // rideId로 놀이기구 이름 조회
-            String rideName;
-            try {
-                rideName = rideService.getRide(rideId).getName();
-            } catch (Exception e) {
-                logger.warn("놀이기구 이름 조회 실패 - rideId={}", rideId, e);
-                rideName = "알 수 없음";
-            }
+        // 레인 번호 -> 해당 레인에서 순서대로 처리할 사용자 목록
+        Map<Integer, List<Map.Entry<Long, Map<Long, QueueEvent>>>> usersByLane = new LinkedHashMap<>();
+        for (Map.Entry<Long, Map<Long, QueueEvent>> entry : eventsByUser.entrySet()) {
+            usersByLane.computeIfAbsent(laneOf(entry.getKey()), lane -> new ArrayList<>()).add(entry);
+        }
+
+        Map<Long, String> rideNames = new ConcurrentHashMap<>();
+        CompletableFuture<?>[] futures = usersByLane.entrySet().stream()
+                .map(laneEntry -> CompletableFuture.runAsync(
+                        () -> laneEntry.getValue().forEach(user -> sendUserEvents(user.getKey(), user.getValue(), rideNames)),
+                        lanes[laneEntry.getKey()]))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).join();
+    }
 
-            QueueEventMessage eventMessage = new QueueEventMessage(rideId, rideName, userId, type, status);
+    private int laneOf(Long userId) {
+        return Math.floorMod(Long.hashCode(userId), lanes.length);
+    }
 
-            // 특정 사용자에게만 메시지 전송
-            sendToUser(userId, eventMessage);
+    private void sendUserEvents(Long userId, Map<Long, QueueEvent> latestByRide, Map<Long, String> rideNames) {
+        try {
+            List<QueueEventMessage> messages = new ArrayList<>(latestByRide.size());
+            for (QueueEvent event : latestByRide.values()) {
+                String rideName = rideNames.computeIfAbsent(event.rideId(), rideId ->
+                        rideCatalog.findName(rideId).orElseGet(() -> {
+                            logger.warn("놀이기구 이름 조회 실패 - rideId={}", rideId);
+                            return "알 수 없음";
+                        }));
+                messages.add(new QueueEventMessage(event.rideId(), rideName, userId, event.type(), event.status(),
+                        event.eventId()));
 
-            logger.info("웹소켓 메시지 전송 완료 - 사용자={}, 놀이기구={} ({}), 상태={}",
-                    userId, rideName, rideId, status);
+                eventLog.info(logger, Category.QUEUE_EVENT)
+                        .addKeyValue("userId", userId)
+                        .addKeyValue("rideId", event.rideId())
+                        .addKeyValue("type", event.type())
+                        .addKeyValue("status", event.status())
+                        .log("탑승 알림 전송");
+            }
 
+            // 특정 사용자에게만 메시지 전송
+            sendToUser(userId, messages.size() == 1
+                    ? messages.get(0)
+                    : new QueueEventBatchMessage(userId, messages));
         } catch (Exception e) {
-            logger.error("Kafka 메시지 처리 중 오류 발생: {}", message, e);
+            logger.error("탑승 알림 전송 중 오류 발생 - userId={}", userId, e);
         }
     }
 
@@ -68,16 +250,11 @@ public class QueueEventConsumerService {
      * Kafka 이벤트 (READY/ALMOST_READY)를 사용자별 대기열 상태 채널로 전송
      *
      * @param userId 사용자 ID
-     * @param message 전송할 메시지
+     * @param payload 전송할 메시지 (QueueEventMessage 또는 QueueEventBatchMessage)
      */
-    private void sendToUser(Long userId, QueueEventMessage message) {
-        // 사용자별 대기열 상태와 동일한 채널로 전송
-        // /sub/user/{userId}/queue-status
-        String destination = "/sub/user/" + userId + "/queue-status";
-        messagingTemplate.convertAndSend(destination, message);
-
-        logger.info("웹소켓 탑승 알림 전송 - destination={}, rideName={}, rideId={}, status={}",
-                destination, message.rideName(), message.rideId(), message.status());
+    private void sendToUser(Long userId, Object payload) {
+        // 사용자별 대기열 상태와 동일한 채널로 전송 (해당 사용자의 세션에만 전달, 다른 노드의 세션은 중계)
+        // 구독: /user/sub/queue-status
+        userMessageRelay.sendToUser(userId, LiveSubscriptionRegistry.USER_QUEUE_STATUS_DESTINATION, payload);
     }
 }
-
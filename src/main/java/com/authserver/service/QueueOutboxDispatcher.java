@@ -0,0 +1,310 @@
+package com.authserver.service;
+
+import com.authserver.dto.queue.EnqueueRequest;
+import com.authserver.dto.queue.EnqueueResponse;
+import com.authserver.dto.websocket.QueueEventMessage;
+import com.authserver.entity.OutboxStatus;
+import com.authserver.entity.QueueCommandType;
+import com.authserver.entity.QueueOutbox;
+import com.authserver.repository.QueueOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 아웃박스에 기록된 대기열 명령(등록/취소)을 대기열 서버로 전달하는 디스패처
+ *
+ * - 등록/취소 직후 한 번 즉시 전송을 시도하고, 실패하거나 밀린 명령은 스케줄러가 배치로 재전송
+ * - 모든 요청에 Idempotency-Key 헤더를 실어 재전송이 대기열 서버에서 중복 처리되지 않도록 함
+ * - 같은 사용자/놀이기구의 명령은 기록 순서대로만 전송 (등록보다 취소가 먼저 가지 않도록)
+ * - 대기열 서버가 4xx로 거절한 명령은 재시도하지 않고 바로 FAILED 처리하며, 거절된 등록은 WAITED 기록을 지우고 사용자에게 알림
+ */
+@Service
+public class QueueOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueOutboxDispatcher.class);
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final int TIMEOUT_SECONDS = 10;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final WebClient queueWebClient;
+    private final QueueOutboxRepository queueOutboxRepository;
+    private final RideUsageService rideUsageService;
+    private final UserMessageRelay userMessageRelay;
+    private final RideCatalog rideCatalog;
+    private final MeterRegistry meterRegistry;
+    private final Timer dispatchDelayTimer;
+    private final AtomicLong dispatchLagMillis = new AtomicLong();
+
+    @Value("${queue.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${queue.outbox.concurrency:8}")
+    private int concurrency;
+
+    @Value("${queue.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${queue.outbox.retention-hours:24}")
+    private int retentionHours;
+
+    public QueueOutboxDispatcher(WebClient queueWebClient,
+                                 QueueOutboxRepository queueOutboxRepository,
+                                 RideUsageService rideUsageService,
+                                 UserMessageRelay userMessageRelay,
+                                 RideCatalog rideCatalog,
+                                 MeterRegistry meterRegistry) {
+        this.queueWebClient = queueWebClient;
+        this.queueOutboxRepository = queueOutboxRepository;
+        this.rideUsageService = rideUsageService;
+        this.userMessageRelay = userMessageRelay;
+        this.rideCatalog = rideCatalog;
+        this.meterRegistry = meterRegistry;
+        this.dispatchDelayTimer = Timer.builder("queue.outbox.dispatch.delay")
+                .description("아웃박스 기록부터 대기열 서버 전달 완료까지의 지연")
+                .register(meterRegistry);
+        Gauge.builder("queue.outbox.dispatch.lag", dispatchLagMillis, AtomicLong::get)
+                .description("가장 오래된 미전달 명령의 대기 시간")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 대기열 등록 명령 즉시 전송
+     *
+     * @param outbox 방금 기록된 대기열 등록 명령
+     * @return 대기열 서버 응답, 전송 실패 시 null (스케줄러가 재전송)
+     * @throws IllegalArgumentException 대기열 서버가 등록을 거절한 경우 (WAITED 기록은 삭제됨)
+     */
+    public EnqueueResponse dispatchEnqueue(QueueOutbox outbox) {
+        DispatchResult result = dispatchNow(outbox);
+        if (result.rejected()) {
+            throw new IllegalArgumentException("대기열 서버가 등록을 거절했습니다: " + outbox.getLastError());
+        }
+        return result.success() ? result.response() : null;
+    }
+
+    /**
+     * 대기열 취소 명령 즉시 전송
+     *
+     * @param outbox 방금 기록된 대기열 취소 명령
+     * @return 전송 성공 여부 (실패 시 스케줄러가 재전송)
+     */
+    public boolean dispatchCancel(QueueOutbox outbox) {
+        return dispatchNow(outbox).success();
+    }
+
+    private DispatchResult dispatchNow(QueueOutbox outbox) {
+        DispatchResult result = dispatch(outbox).block();
+        applyResult(result);
+        if (isRejectedEnqueue(result)) {
+            // 요청한 클라이언트가 응답으로 거절을 받으므로 별도 알림은 보내지 않음
+            rideUsageService.discardRejectedEnqueue(outbox);
+        } else {
+            queueOutboxRepository.save(outbox);
+        }
+        return result;
+    }
+
+    /**
+     * 밀린 명령을 배치로 대기열 서버에 전달
+     * 사용자/놀이기구 단위로 묶어 묶음 내부는 순서대로, 묶음끼리는 병렬로 전송합니다.
+     */
+    @Scheduled(fixedDelayString = "${queue.outbox.dispatch-interval-ms:1000}")
+    public void dispatchPending() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            dispatchLagMillis.set(queueOutboxRepository.findFirstByStatusOrderByOutboxIdAsc(OutboxStatus.PENDING)
+                    .map(oldest -> Duration.between(oldest.getCreatedAt(), now).toMillis())
+                    .orElse(0L));
+
+            // 재시도 시점이 지난 명령만 조회하므로 재시도 대기 중인 명령이 새 명령을 막지 않음
+            List<QueueOutbox> batch = queueOutboxRepository.findDue(
+                    OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            // 사용자/놀이기구별 묶음
+            Map<String, List<QueueOutbox>> groups = new LinkedHashMap<>();
+            for (QueueOutbox outbox : batch) {
+                groups.computeIfAbsent(outbox.getUserId() + ":" + outbox.getRideId(), key -> new ArrayList<>())
+                        .add(outbox);
+            }
+            List<List<QueueOutbox>> dueGroups = List.copyOf(groups.values());
+
+            List<DispatchResult> results = Flux.fromIterable(dueGroups)
+                    .flatMap(group -> Flux.fromIterable(group)
+                            .concatMap(this::dispatch)
+                            .takeUntil(result -> !result.success()), concurrency)
+                    .collectList()
+                    .block();
+
+            if (results == null || results.isEmpty()) {
+                return;
+            }
+
+            List<QueueOutbox> updated = new ArrayList<>(results.size());
+            List<QueueOutbox> rejectedEnqueues = new ArrayList<>();
+            for (DispatchResult result : results) {
+                applyResult(result);
+                (isRejectedEnqueue(result) ? rejectedEnqueues : updated).add(result.outbox());
+            }
+            queueOutboxRepository.saveAll(updated);
+            rejectedEnqueues.forEach(this::compensateRejectedEnqueue);
+
+            long failed = results.stream().filter(result -> !result.success()).count();
+            logger.info("아웃박스 배치 전달 - 전송={}, 실패={}, 지연={}ms",
+                    results.size(), failed, dispatchLagMillis.get());
+        } catch (Exception e) {
+            logger.error("아웃박스 배치 전달 실패", e);
+        }
+    }
+
+    /**
+     * 거절된 등록의 WAITED 기록을 지우고 사용자에게 알림 (실패해도 다른 명령 처리는 계속)
+     */
+    private void compensateRejectedEnqueue(QueueOutbox outbox) {
+        try {
+            rideUsageService.discardRejectedEnqueue(outbox);
+            String rideName = rideCatalog.findName(outbox.getRideId()).orElse("알 수 없음");
+            userMessageRelay.sendToUser(outbox.getUserId(), LiveSubscriptionRegistry.USER_QUEUE_STATUS_DESTINATION,
+                    new QueueEventMessage(outbox.getRideId(), rideName, outbox.getUserId(),
+                            outbox.getTicketType(), QueueEventMessage.STATUS_ENQUEUE_REJECTED, null));
+        } catch (Exception e) {
+            logger.error("거절된 대기열 등록 보상 처리 실패 - outboxId={}, userId={}, rideId={}",
+                    outbox.getOutboxId(), outbox.getUserId(), outbox.getRideId(), e);
+        }
+    }
+
+    private static boolean isRejectedEnqueue(DispatchResult result) {
+        return result.rejected() && result.outbox().getCommandType() == QueueCommandType.ENQUEUE;
+    }
+
+    /**
+     * 전달 완료된 오래된 아웃박스 기록 정리
+     */
+    @Scheduled(cron = "${queue.outbox.cleanup-cron:0 0 4 * * *}")
+    @Transactional
+    public void deleteDispatchedOutbox() {
+        queueOutboxRepository.deleteByStatusAndDispatchedAtBefore(
+                OutboxStatus.DISPATCHED, LocalDateTime.now().minusHours(retentionHours));
+    }
+
+    /**
+     * 명령 하나를 대기열 서버로 전송 (오류는 결과로 변환)
+     */
+    private Mono<DispatchResult> dispatch(QueueOutbox outbox) {
+        return exchange(outbox)
+                .map(response -> new DispatchResult(outbox, response, null))
+                .defaultIfEmpty(new DispatchResult(outbox, null, null))
+                .onErrorResume(e -> Mono.just(new DispatchResult(outbox, null, e)));
+    }
+
+    private Mono<EnqueueResponse> exchange(QueueOutbox outbox) {
+        // 대기열 서버는 등록/취소 모두 EnqueueRequest 형식으로 받음
+        EnqueueRequest request = new EnqueueRequest(outbox.getUserId(), outbox.getRideId(), outbox.getTicketType());
+
+        if (outbox.getCommandType() == QueueCommandType.ENQUEUE) {
+            return queueWebClient.post()
+                    .uri("/api/queue/enqueue")
+                    .header(IDEMPOTENCY_KEY_HEADER, outbox.getIdempotencyKey())
+                    .bodyValue(request)
+                    .retrieve()
+                    .bodyToMono(EnqueueResponse.class)
+                    .timeout(Duration.ofSeconds(TIMEOUT_SECONDS))
+                    .switchIfEmpty(Mono.error(new RuntimeException("대기열 서버로부터 응답을 받지 못했습니다.")));
+        }
+
+        // 대기열 서버는 취소 시 void를 반환
+        return queueWebClient.post()
+                .uri("/api/queue/cancel")
+                .header(IDEMPOTENCY_KEY_HEADER, outbox.getIdempotencyKey())
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(Void.class)
+                .timeout(Duration.ofSeconds(TIMEOUT_SECONDS))
+                .then(Mono.empty());
+    }
+
+    /**
+     * 전송 결과를 아웃박스 엔티티에 반영 (저장은 호출자가 담당)
+     * 실패 시 지수 백오프로 다음 시도 시점을 미루고, 대기열 서버가 거절했거나 최대 시도 횟수를 넘기면 FAILED 처리
+     */
+    private void applyResult(DispatchResult result) {
+        QueueOutbox outbox = result.outbox();
+        LocalDateTime now = LocalDateTime.now();
+        outbox.setAttempts(outbox.getAttempts() + 1);
+        String command = outbox.getCommandType().name();
+
+        if (result.success()) {
+            outbox.setStatus(OutboxStatus.DISPATCHED);
+            outbox.setDispatchedAt(now);
+            outbox.setLastError(null);
+            dispatchDelayTimer.record(Duration.between(outbox.getCreatedAt(), now));
+            meterRegistry.counter("queue.outbox.dispatched", "command", command).increment();
+            return;
+        }
+
+        String message = String.valueOf(result.error().getMessage());
+        outbox.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+
+        if (result.rejected()) {
+            outbox.setStatus(OutboxStatus.FAILED);
+            meterRegistry.counter("queue.outbox.rejected", "command", command).increment();
+            logger.warn("대기열 서버가 명령을 거절하여 재시도하지 않음 - outboxId={}, command={}, userId={}, rideId={}, {}",
+                    outbox.getOutboxId(), command, outbox.getUserId(), outbox.getRideId(), outbox.getLastError());
+            return;
+        }
+
+        if (outbox.getAttempts() >= maxAttempts) {
+            outbox.setStatus(OutboxStatus.FAILED);
+            meterRegistry.counter("queue.outbox.failed", "command", command).increment();
+            logger.error("아웃박스 명령 전달 포기 - outboxId={}, command={}, userId={}, rideId={}, attempts={}",
+                    outbox.getOutboxId(), command, outbox.getUserId(), outbox.getRideId(), outbox.getAttempts(),
+                    result.error());
+            return;
+        }
+
+        long backoffSeconds = Math.min(1L << Math.min(outbox.getAttempts(), 8), 300);
+        outbox.setNextAttemptAt(now.plusSeconds(backoffSeconds));
+        meterRegistry.counter("queue.outbox.retried", "command", command).increment();
+        logger.warn("아웃박스 명령 전달 실패, 재시도 예정 - outboxId={}, command={}, attempts={}, {}초 후",
+                outbox.getOutboxId(), command, outbox.getAttempts(), backoffSeconds);
+    }
+
+    private record DispatchResult(QueueOutbox outbox, EnqueueResponse response, Throwable error) {
+        boolean success() {
+            return error == null;
+        }
+
+        // 4xx 중 시간 초과(408)와 요청 제한(429)을 제외하면 다시 보내도 같은 결과이므로 재시도하지 않음
+        boolean rejected() {
+            if (!(error instanceof WebClientResponseException e) || !e.getStatusCode().is4xxClientError()) {
+                return false;
+            }
+            int status = e.getStatusCode().value();
+            return status != HttpStatus.REQUEST_TIMEOUT.value() && status != HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+    }
+}
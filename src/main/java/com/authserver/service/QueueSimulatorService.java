@@ -0,0 +1,376 @@
+package com.authserver.service;
+
+import com.authserver.dto.queue.EnqueueResponse;
+import com.authserver.dto.queue.QueueEvent;
+import com.authserver.dto.queue.QueueStatusItem;
+import com.authserver.dto.queue.QueueStatusListResponse;
+import com.authserver.dto.queue.RideQueueInfoDto;
+import com.authserver.dto.queue.RideQueueInfoListResponse;
+import com.authserver.dto.queue.RideWaitTimeDto;
+import com.authserver.entity.Ride;
+import com.authserver.repository.RideRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 오프라인 부하/지연 테스트용 대기열 서버 시뮬레이터 (queue-simulator 프로파일 전용)
+ *
+ * 놀이기구별 PREMIUM/GENERAL 대기열을 메모리에 유지하고, 주기마다 한 번씩 탑승을 진행시켜
+ * READY/ALMOST_READY 이벤트와 놀이기구별 대기 시간 변경 이벤트를 발행합니다. 응답 지연 분포, 오류 주입, 느린 응답 비율을 설정할 수 있습니다.
+ *
+ * queue.server.url을 http://localhost:{server.port}로 지정하면 인증 서버 단독으로 부하 테스트가 가능합니다.
+ */
+@Service
+@Profile("queue-simulator")
+public class QueueSimulatorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueSimulatorService.class);
+    private static final List<String> TICKET_TYPES = List.of("PREMIUM", "GENERAL");
+    private static final String QUEUE_EVENT_TOPIC = "queue-event-topic";
+    private static final String WAIT_TIME_TOPIC = "ride-wait-time-topic";
+    private static final int IDEMPOTENCY_CACHE_SIZE = 10_000;
+
+    private final RideRepository rideRepository;
+    private final QueueEventConsumerService queueEventConsumerService;
+    private final RideWaitTimeEventConsumerService rideWaitTimeEventConsumerService;
+    private final ObjectProvider<KafkaTemplate<String, String>> kafkaTemplateProvider;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // rideId -> 티켓 타입별 대기열
+    private final Map<Long, RideQueue> queues = new ConcurrentHashMap<>();
+
+    // 마지막 대기 시간 이벤트 발행 이후 대기열이 바뀐 놀이기구
+    private final Set<Long> changedRides = ConcurrentHashMap.newKeySet();
+
+    // 재전송된 등록 요청에 같은 응답을 돌려주기 위한 최근 Idempotency-Key 캐시
+    private final Map<String, EnqueueResponse> idempotentResponses = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, EnqueueResponse> eldest) {
+            return size() > IDEMPOTENCY_CACHE_SIZE;
+        }
+    };
+
+    @Value("${queue.simulator.latency.distribution:lognormal}")
+    private String latencyDistribution;
+
+    @Value("${queue.simulator.latency.mean-ms:20}")
+    private long latencyMeanMs;
+
+    @Value("${queue.simulator.latency.sigma:0.5}")
+    private double latencySigma;
+
+    @Value("${queue.simulator.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${queue.simulator.slow-rate:0.0}")
+    private double slowRate;
+
+    @Value("${queue.simulator.slow-ms:3000}")
+    private long slowMs;
+
+    // local: 인증 서버의 이벤트 소비 로직으로 직접 전달, kafka: queue-event-topic/ride-wait-time-topic으로 발행
+    @Value("${queue.simulator.event-sink:local}")
+    private String eventSink;
+
+    public QueueSimulatorService(RideRepository rideRepository,
+                                 QueueEventConsumerService queueEventConsumerService,
+                                 RideWaitTimeEventConsumerService rideWaitTimeEventConsumerService,
+                                 ObjectProvider<KafkaTemplate<String, String>> kafkaTemplateProvider) {
+        this.rideRepository = rideRepository;
+        this.queueEventConsumerService = queueEventConsumerService;
+        this.rideWaitTimeEventConsumerService = rideWaitTimeEventConsumerService;
+        this.kafkaTemplateProvider = kafkaTemplateProvider;
+    }
+
+    @PostConstruct
+    void validateSettings() {
+        if (!List.of("fixed", "uniform", "exponential", "lognormal").contains(latencyDistribution)) {
+            throw new IllegalArgumentException("지원하지 않는 지연 분포입니다: " + latencyDistribution);
+        }
+        if (!List.of("local", "kafka").contains(eventSink)) {
+            throw new IllegalArgumentException("지원하지 않는 이벤트 발행 방식입니다: " + eventSink);
+        }
+        logger.info("대기열 서버 시뮬레이터 활성화 - 지연분포={}, 평균지연={}ms, 오류율={}, 지연응답율={}, 이벤트발행={}",
+                latencyDistribution, latencyMeanMs, errorRate, slowRate, eventSink);
+    }
+
+    /**
+     * 네트워크 지연, 느린 응답, 오류를 주입
+     *
+     * @throws ResponseStatusException 오류 주입 시 503
+     */
+    public void simulateNetwork() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = sampleLatencyMillis(random);
+        if (slowRate > 0 && random.nextDouble() < slowRate) {
+            delay += slowMs;
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "simulated queue server error");
+        }
+    }
+
+    private long sampleLatencyMillis(ThreadLocalRandom random) {
+        return switch (latencyDistribution) {
+            case "fixed" -> latencyMeanMs;
+            case "uniform" -> random.nextLong(0, 2 * latencyMeanMs + 1);
+            case "exponential" -> (long) (-latencyMeanMs * Math.log(1 - random.nextDouble()));
+            // 평균이 latencyMeanMs가 되도록 보정한 로그정규 분포 (긴 꼬리)
+            default -> (long) (latencyMeanMs
+                    * Math.exp(latencySigma * random.nextGaussian() - latencySigma * latencySigma / 2));
+        };
+    }
+
+    /**
+     * 대기열 등록
+     */
+    public EnqueueResponse enqueue(Long userId, Long rideId, String ticketType, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            synchronized (idempotentResponses) {
+                EnqueueResponse previous = idempotentResponses.get(idempotencyKey);
+                if (previous != null) {
+                    return previous;
+                }
+            }
+        }
+
+        RideQueue queue = queueOf(rideId);
+        EnqueueResponse response;
+        synchronized (queue) {
+            Deque<Long> line = queue.line(ticketType);
+            if (!line.contains(userId)) {
+                line.addLast(userId);
+                changedRides.add(rideId);
+            }
+            long position = indexOf(line, userId) + 1;
+            response = new EnqueueResponse(position, queue.estimateMinutes(ticketType, position));
+        }
+
+        if (idempotencyKey != null) {
+            synchronized (idempotentResponses) {
+                idempotentResponses.put(idempotencyKey, response);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * 대기열 취소 (대기 중이 아니면 무시)
+     */
+    public void cancel(Long userId, Long rideId, String ticketType) {
+        RideQueue queue = queueOf(rideId);
+        synchronized (queue) {
+            if (queue.line(ticketType).remove(userId)) {
+                changedRides.add(rideId);
+            }
+            queue.notified.remove(userId);
+        }
+    }
+
+    /**
+     * 사용자의 전체 대기열 상태 (rideName은 대기열 서버처럼 비워서 반환)
+     */
+    public QueueStatusListResponse getStatus(Long userId) {
+        List<QueueStatusItem> items = new ArrayList<>();
+        queues.forEach((rideId, queue) -> {
+            synchronized (queue) {
+                for (String ticketType : TICKET_TYPES) {
+                    int index = indexOf(queue.line(ticketType), userId);
+                    if (index >= 0) {
+                        long position = index + 1;
+                        items.add(new QueueStatusItem(rideId, null, ticketType, position,
+                                queue.estimateMinutes(ticketType, position)));
+                    }
+                }
+            }
+        });
+        return new QueueStatusListResponse(items);
+    }
+
+    /**
+     * 전체 놀이기구 대기열 정보
+     */
+    public RideQueueInfoListResponse getAllRidesInfo() {
+        List<RideQueueInfoDto> rides = rideRepository.findByIsActive(true).stream()
+                .map(ride -> getRideInfo(ride.getRideId()))
+                .toList();
+        return new RideQueueInfoListResponse(rides);
+    }
+
+    /**
+     * 특정 놀이기구 대기열 정보
+     */
+    public RideQueueInfoDto getRideInfo(Long rideId) {
+        RideQueue queue = queueOf(rideId);
+        synchronized (queue) {
+            List<RideWaitTimeDto> waitTimes = TICKET_TYPES.stream()
+                    .map(ticketType -> {
+                        int waiting = queue.line(ticketType).size();
+                        return new RideWaitTimeDto(ticketType, waiting, queue.estimateMinutes(ticketType, waiting));
+                    })
+                    .toList();
+            return new RideQueueInfoDto(rideId.intValue(), waitTimes);
+        }
+    }
+
+    /**
+     * 탑승 주기 진행: 정원만큼 앞에서부터 탑승(READY), 다음 회차 인원에게 ALMOST_READY 알림
+     */
+    @Scheduled(fixedRateString = "${queue.simulator.cycle-ms:10000}")
+    public void runRideCycle() {
+        queues.forEach((rideId, queue) -> {
+            List<QueueEvent> events = new ArrayList<>();
+            synchronized (queue) {
+                for (String ticketType : TICKET_TYPES) {
+                    Deque<Long> line = queue.line(ticketType);
+                    int capacity = queue.capacity(ticketType);
+
+                    for (int i = 0; i < capacity && !line.isEmpty(); i++) {
+                        Long userId = line.pollFirst();
+                        queue.notified.remove(userId);
+                        changedRides.add(rideId);
+                        events.add(new QueueEvent(rideId, userId, ticketType, "READY", UUID.randomUUID().toString()));
+                    }
+
+                    int i = 0;
+                    for (Long userId : line) {
+                        if (i++ >= capacity) {
+                            break;
+                        }
+                        if (queue.notified.add(userId)) {
+                            events.add(new QueueEvent(rideId, userId, ticketType, "ALMOST_READY", UUID.randomUUID().toString()));
+                        }
+                    }
+                }
+            }
+            events.forEach(this::publish);
+        });
+    }
+
+    /**
+     * 대기열이 바뀐 놀이기구의 대기 시간 변경 이벤트 발행 (놀이기구당 주기마다 최대 한 번)
+     */
+    @Scheduled(fixedDelayString = "${queue.simulator.wait-time-interval-ms:1000}")
+    public void publishWaitTimes() {
+        List<RideQueueInfoDto> updates = new ArrayList<>();
+        for (Long rideId : changedRides) {
+            changedRides.remove(rideId);
+            updates.add(getRideInfo(rideId));
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        if ("kafka".equals(eventSink)) {
+            KafkaTemplate<String, String> kafkaTemplate = kafkaTemplateProvider.getIfAvailable();
+            if (kafkaTemplate != null) {
+                for (RideQueueInfoDto info : updates) {
+                    kafkaTemplate.send(WAIT_TIME_TOPIC, String.valueOf(info.rideId()), toJson(info));
+                }
+                return;
+            }
+        }
+        rideWaitTimeEventConsumerService.applyUpdates(updates);
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (Exception e) {
+            throw new IllegalStateException("시뮬레이터 이벤트 직렬화 실패", e);
+        }
+    }
+
+    private void publish(QueueEvent event) {
+        String json = toJson(event);
+
+        if ("kafka".equals(eventSink)) {
+            KafkaTemplate<String, String> kafkaTemplate = kafkaTemplateProvider.getIfAvailable();
+            if (kafkaTemplate != null) {
+                // userId를 키로 발행해 같은 사용자의 이벤트가 같은 파티션으로 가도록 함
+                kafkaTemplate.send(QUEUE_EVENT_TOPIC, String.valueOf(event.userId()), json);
+                return;
+            }
+        }
+        queueEventConsumerService.consumeQueueEvent(json);
+    }
+
+    private RideQueue queueOf(Long rideId) {
+        return queues.computeIfAbsent(rideId, id -> {
+            Ride ride = rideRepository.findById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "ride not found: " + id));
+            return new RideQueue(ride.getCapacityPremium(), ride.getCapacityGeneral(), ride.getRidingTime());
+        });
+    }
+
+    private static int indexOf(Deque<Long> line, Long userId) {
+        int index = 0;
+        for (Long waiting : line) {
+            if (waiting.equals(userId)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * 놀이기구 하나의 대기열 상태 (동기화는 인스턴스 단위)
+     */
+    private static final class RideQueue {
+        private final Deque<Long> premium = new ArrayDeque<>();
+        private final Deque<Long> general = new ArrayDeque<>();
+        private final Set<Long> notified = new HashSet<>();
+        private final int capacityPremium;
+        private final int capacityGeneral;
+        private final int ridingMinutes;
+
+        private RideQueue(Integer capacityPremium, Integer capacityGeneral, Integer ridingMinutes) {
+            this.capacityPremium = Math.max(1, capacityPremium);
+            this.capacityGeneral = Math.max(1, capacityGeneral);
+            this.ridingMinutes = Math.max(1, ridingMinutes);
+        }
+
+        private Deque<Long> line(String ticketType) {
+            return "PREMIUM".equals(ticketType) ? premium : general;
+        }
+
+        private int capacity(String ticketType) {
+            return "PREMIUM".equals(ticketType) ? capacityPremium : capacityGeneral;
+        }
+
+        private int estimateMinutes(String ticketType, long position) {
+            long cycles = (position + capacity(ticketType) - 1) / capacity(ticketType);
+            return (int) (cycles * ridingMinutes);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.authserver.service;
+
+import com.authserver.entity.Ride;
+import com.authserver.repository.RideRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 놀이기구 목록 메모리 캐시
+ *
+ * 대기열 상태 조회, 사용자별 브로드캐스트, Kafka 알림마다 놀이기구 이름을 DB에서 찾던 것을 메모리 조회로 대체합니다.
+ * 변경이 드문 작은 테이블이므로 변경 시마다 불변 스냅샷을 통째로 교체하고, 읽기는 락 없이 수행합니다.
+ * RideService의 생성/수정/삭제가 커밋된 뒤 반영되며, 다른 인스턴스의 변경은 주기적 재적재로 따라잡습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RideCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(RideCatalog.class);
+
+    private final RideRepository rideRepository;
+
+    private volatile Snapshot snapshot = Snapshot.of(Map.of());
+
+    /**
+     * 캐시에 보관하는 놀이기구 요약 정보
+     */
+    private record RideEntry(Long rideId, String name, boolean active) {
+    }
+
+    private record Snapshot(Map<Long, RideEntry> byId, List<Long> activeRideIds) {
+        static Snapshot of(Map<Long, RideEntry> byId) {
+            List<Long> active = byId.values().stream()
+                    .filter(RideEntry::active)
+                    .map(RideEntry::rideId)
+                    .sorted()
+                    .toList();
+            return new Snapshot(Map.copyOf(byId), active);
+        }
+    }
+
+    /**
+     * 시작 시 및 주기적으로 전체 놀이기구를 다시 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${ride.catalog.reload-interval-ms:300000}",
+            initialDelayString = "${ride.catalog.reload-interval-ms:300000}")
+    public synchronized void reload() {
+        try {
+            Map<Long, RideEntry> byId = new HashMap<>();
+            for (Ride ride : rideRepository.findAll()) {
+                byId.put(ride.getRideId(), toEntry(ride));
+            }
+            snapshot = Snapshot.of(byId);
+            logger.debug("놀이기구 캐시 적재 완료 - 놀이기구 수={}", byId.size());
+        } catch (Exception e) {
+            logger.error("놀이기구 캐시 적재 실패", e);
+        }
+    }
+
+    /**
+     * 놀이기구 이름 조회
+     */
+    public Optional<String> findName(Long rideId) {
+        RideEntry entry = snapshot.byId().get(rideId);
+        return entry == null ? Optional.empty() : Optional.of(entry.name());
+    }
+
+    /**
+     * 운영 중인 놀이기구 ID 목록 (ID 오름차순)
+     */
+    public List<Long> getActiveRideIds() {
+        return snapshot.activeRideIds();
+    }
+
+    /**
+     * 놀이기구 생성/수정 반영 (트랜잭션 안이면 커밋 후 반영)
+     */
+    public void onSaved(Ride ride) {
+        RideEntry entry = toEntry(ride);
+        afterCommit(() -> apply(entry.rideId(), entry));
+    }
+
+    /**
+     * 놀이기구 삭제 반영 (트랜잭션 안이면 커밋 후 반영)
+     */
+    public void onDeleted(Long rideId) {
+        afterCommit(() -> apply(rideId, null));
+    }
+
+    private synchronized void apply(Long rideId, RideEntry entry) {
+        Map<Long, RideEntry> byId = new HashMap<>(snapshot.byId());
+        if (entry == null) {
+            byId.remove(rideId);
+        } else {
+            byId.put(rideId, entry);
+        }
+        snapshot = Snapshot.of(byId);
+    }
+
+    private static RideEntry toEntry(Ride ride) {
+        return new RideEntry(ride.getRideId(), ride.getName(), Boolean.TRUE.equals(ride.getIsActive()));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -20,10 +20,13 @@ public class RideService {
     private static final Logger logger = LoggerFactory.getLogger(RideService.class);
     private final RideRepository rideRepository;
     private final QueueClientService queueClientService;
+    private final RideCatalog rideCatalog;
 
-    public RideService(RideRepository rideRepository, @Lazy QueueClientService queueClientService) {
+    public RideService(RideRepository rideRepository, @Lazy QueueClientService queueClientService,
+                       RideCatalog rideCatalog) {
         this.rideRepository = rideRepository;
         this.queueClientService = queueClientService;
+        this.rideCatalog = rideCatalog;
     }
 
     /**
@@ -46,7 +49,9 @@ public class RideService {
         ride.setOperatingTime(operatingTime);
         ride.setCreatedAt(LocalDateTime.now());
 
-        return rideRepository.save(ride);
+        Ride saved = rideRepository.save(ride);
+        rideCatalog.onSaved(saved);
+        return saved;
     }
 
     /**
@@ -154,7 +159,9 @@ public class RideService {
         if (photo != null) ride.setPhoto(photo);
         if (operatingTime != null) ride.setOperatingTime(operatingTime);
 
-        return rideRepository.save(ride);
+        Ride saved = rideRepository.save(ride);
+        rideCatalog.onSaved(saved);
+        return saved;
     }
 
     /**
@@ -163,5 +170,6 @@ public class RideService {
     @Transactional
     public void deleteRide(Long rideId) {
         rideRepository.deleteById(rideId);
+        rideCatalog.onDeleted(rideId);
     }
 }
@@ -5,20 +5,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.authserver.entity.OutboxStatus;
+import com.authserver.entity.QueueCommandType;
+import com.authserver.entity.QueueOutbox;
 import com.authserver.entity.RideUsage;
 import com.authserver.entity.RideUsageStatus;
+import com.authserver.repository.QueueOutboxRepository;
 import com.authserver.repository.RideUsageRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class RideUsageService {
 
     private static final Logger logger = LoggerFactory.getLogger(RideUsageService.class);
+    // 아웃박스 기록 직후 즉시 전송 경로가 먼저 시도하도록 스케줄 디스패처에 주는 유예 시간
+    // 즉시 전송의 응답 대기 시간보다 길어야 같은 명령을 두 경로에서 동시에 보내고 결과를 서로 덮어쓰지 않음
+    private static final long OUTBOX_IMMEDIATE_GRACE_SECONDS = QueueOutboxDispatcher.TIMEOUT_SECONDS * 3L;
+
     private final RideUsageRepository rideUsageRepository;
+    private final QueueOutboxRepository queueOutboxRepository;
+    private final ActiveWaiterIndex activeWaiterIndex;
 
     /**
      * 놀이기구 이용 기록 생성 (대기 시작)
@@ -32,7 +43,21 @@ public class RideUsageService {
         rideUsage.setStatus(RideUsageStatus.WAITED);
         rideUsage.setCreatedAt(LocalDateTime.now());
 
-        return rideUsageRepository.save(rideUsage);
+        RideUsage saved = rideUsageRepository.save(rideUsage);
+        activeWaiterIndex.onWaiting(userId, rideId);
+        return saved;
+    }
+
+    /**
+     * 놀이기구 이용 기록 생성과 대기열 등록 명령 기록을 하나의 트랜잭션으로 처리
+     * 대기열 서버 전달은 QueueOutboxDispatcher가 담당합니다.
+     *
+     * @return 기록된 대기열 등록 명령
+     */
+    @Transactional
+    public QueueOutbox createRideUsageWithOutbox(Long userId, Long rideId, Long ticketOrderId, String ticketType) {
+        RideUsage rideUsage = createRideUsage(userId, rideId, ticketOrderId);
+        return appendOutbox(QueueCommandType.ENQUEUE, userId, rideId, ticketType, rideUsage.getRideUsageId());
     }
 
     /**
@@ -116,6 +141,7 @@ public class RideUsageService {
         RideUsage rideUsage = getRideUsage(rideUsageId);
         rideUsage.setStatus(RideUsageStatus.COMPLETED);
         rideUsage.setCompletedAt(LocalDateTime.now());
+        activeWaiterIndex.onWaitEnded(rideUsage.getUserId(), rideUsage.getRideId());
         return rideUsageRepository.save(rideUsage);
     }
 
@@ -130,7 +156,7 @@ public class RideUsageService {
      */
     @Transactional
     public RideUsage completeRideByUserAndRide(Long userId, Long rideId) {
-        logger.info("놀이기구 이용 완료 처리 시작 - userId={}, rideId={}", userId, rideId);
+        logger.debug("놀이기구 이용 완료 처리 시작 - userId={}, rideId={}", userId, rideId);
 
         // WAITED 상태인 레코드 찾기
         Optional<RideUsage> waitedUsage = rideUsageRepository.findByUserIdAndRideIdAndStatus(
@@ -146,7 +172,8 @@ public class RideUsageService {
         rideUsage.setCompletedAt(LocalDateTime.now());
 
         RideUsage saved = rideUsageRepository.save(rideUsage);
-        logger.info("놀이기구 이용 완료 처리 성공 - rideUsageId={}, userId={}, rideId={}",
+        activeWaiterIndex.onWaitEnded(userId, rideId);
+        logger.debug("놀이기구 이용 완료 처리 성공 - rideUsageId={}, userId={}, rideId={}",
                 saved.getRideUsageId(), userId, rideId);
 
         return saved;
@@ -159,6 +186,7 @@ public class RideUsageService {
     public RideUsage markAsNoShow(Long rideUsageId) {
         RideUsage rideUsage = getRideUsage(rideUsageId);
         rideUsage.setStatus(RideUsageStatus.NO_SHOW);
+        activeWaiterIndex.onWaitEnded(rideUsage.getUserId(), rideUsage.getRideId());
         return rideUsageRepository.save(rideUsage);
     }
 
@@ -167,6 +195,8 @@ public class RideUsageService {
      */
     @Transactional
     public void deleteRideUsage(Long rideUsageId) {
+        rideUsageRepository.findById(rideUsageId).ifPresent(rideUsage ->
+                activeWaiterIndex.onWaitEnded(rideUsage.getUserId(), rideUsage.getRideId()));
         rideUsageRepository.deleteById(rideUsageId);
     }
 
@@ -193,7 +223,7 @@ public class RideUsageService {
      */
     @Transactional
     public void deleteWaitedReservation(Long userId, Long rideId) {
-        logger.info("대기 중인 예약 삭제 시작 - userId={}, rideId={}", userId, rideId);
+        logger.debug("대기 중인 예약 삭제 시작 - userId={}, rideId={}", userId, rideId);
 
         Optional<RideUsage> waitedUsage = rideUsageRepository.findByUserIdAndRideIdAndStatus(
                 userId, rideId, RideUsageStatus.WAITED);
@@ -204,6 +234,67 @@ public class RideUsageService {
         }
 
         rideUsageRepository.delete(waitedUsage.get());
-        logger.info("대기 중인 예약 삭제 완료 - userId={}, rideId={}", userId, rideId);
+        activeWaiterIndex.onWaitEnded(userId, rideId);
+        logger.debug("대기 중인 예약 삭제 완료 - userId={}, rideId={}", userId, rideId);
+    }
+
+    /**
+     * 대기 중인 예약 삭제와 대기열 취소 명령 기록을 하나의 트랜잭션으로 처리
+     *
+     * @return 기록된 대기열 취소 명령
+     * @throws IllegalArgumentException WAITED 상태의 레코드가 없는 경우
+     */
+    @Transactional
+    public QueueOutbox deleteWaitedReservationWithOutbox(Long userId, Long rideId, String ticketType) {
+        deleteWaitedReservation(userId, rideId);
+        return appendOutbox(QueueCommandType.CANCEL, userId, rideId, ticketType, null);
+    }
+
+    /**
+     * 대기열 서버가 거절한 등록 명령 정리: FAILED 상태 저장과 그 명령이 만든 WAITED 기록 삭제를 하나의 트랜잭션으로 처리
+     * 취소 후 다시 등록한 새 예약은 지우지 않으며, 이미 취소/완료되어 WAITED 기록이 없으면 명령 상태만 저장
+     */
+    @Transactional
+    public void discardRejectedEnqueue(QueueOutbox outbox) {
+        queueOutboxRepository.save(outbox);
+        findEnqueuedRideUsage(outbox)
+                .filter(rideUsage -> rideUsage.getStatus() == RideUsageStatus.WAITED)
+                .ifPresent(rideUsage -> {
+                    rideUsageRepository.delete(rideUsage);
+                    activeWaiterIndex.onWaitEnded(outbox.getUserId(), outbox.getRideId());
+                    logger.info("거절된 대기열 등록의 대기 기록 삭제 - rideUsageId={}, userId={}, rideId={}",
+                            rideUsage.getRideUsageId(), outbox.getUserId(), outbox.getRideId());
+                });
+    }
+
+    // 등록 명령이 만든 이용 기록 (ride_usage_id가 없는 이전 명령은 명령 기록 시각 이전에 만들어진 WAITED 기록만)
+    private Optional<RideUsage> findEnqueuedRideUsage(QueueOutbox outbox) {
+        if (outbox.getRideUsageId() != null) {
+            return rideUsageRepository.findById(outbox.getRideUsageId());
+        }
+        return rideUsageRepository.findByUserIdAndRideIdAndStatus(outbox.getUserId(), outbox.getRideId(), RideUsageStatus.WAITED)
+                .filter(rideUsage -> !rideUsage.getCreatedAt().isAfter(outbox.getCreatedAt()));
+    }
+
+    /**
+     * 대기열 서버로 보낼 명령을 아웃박스에 기록 (호출자의 트랜잭션에 참여)
+     */
+    private QueueOutbox appendOutbox(QueueCommandType commandType, Long userId, Long rideId, String ticketType,
+                                     Long rideUsageId) {
+        LocalDateTime now = LocalDateTime.now();
+
+        QueueOutbox outbox = new QueueOutbox();
+        outbox.setIdempotencyKey(UUID.randomUUID().toString());
+        outbox.setCommandType(commandType);
+        outbox.setUserId(userId);
+        outbox.setRideId(rideId);
+        outbox.setTicketType(ticketType);
+        outbox.setRideUsageId(rideUsageId);
+        outbox.setStatus(OutboxStatus.PENDING);
+        outbox.setAttempts(0);
+        outbox.setNextAttemptAt(now.plusSeconds(OUTBOX_IMMEDIATE_GRACE_SECONDS));
+        outbox.setCreatedAt(now);
+
+        return queueOutboxRepository.save(outbox);
     }
 }
@@ -0,0 +1,84 @@
+package com.authserver.service;
+
+import com.authserver.dto.queue.RideQueueInfoDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kafka로부터 놀이기구 대기 시간 변경 이벤트를 수신하여 대기 시간 테이블에 반영하는 서비스
+ *
+ * 이벤트 형식은 대기열 서버의 /api/queue/rides/{rideId}/info 응답과 같습니다.
+ * 모든 인스턴스가 자신에게 연결된 클라이언트에게 전송해야 하므로 인스턴스마다 별도 컨슈머 그룹을 사용합니다.
+ * 그룹은 인스턴스 ID(scheduler.leader.node-id)로 정해지므로 재시작해도 같은 그룹을 이어 쓰며 그룹이 쌓이지 않습니다.
+ * 여러 인스턴스로 운영하면(scheduler.leader.enabled=true) node-id가 인스턴스마다 달라야 하며, 없으면 시작하지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class RideWaitTimeEventConsumerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RideWaitTimeEventConsumerService.class);
+
+    private final RideWaitTimeService rideWaitTimeService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${scheduler.leader.enabled:false}")
+    private boolean clustered;
+
+    @Value("${scheduler.leader.node-id:}")
+    private String nodeId;
+
+    // node-id 없이 여러 인스턴스가 같은 그룹을 쓰면 파티션을 나눠 받아 일부 대기 시간 변경을 놓침
+    @PostConstruct
+    void checkNodeId() {
+        if (clustered && !StringUtils.hasText(nodeId)) {
+            throw new IllegalStateException("scheduler.leader.enabled=true 이면 scheduler.leader.node-id를 인스턴스마다 지정해야 합니다.");
+        }
+    }
+
+    @KafkaListener(topics = "${queue.wait-time.topic:ride-wait-time-topic}",
+            groupId = "main-server-wait-time-${scheduler.leader.node-id:single}",
+            containerFactory = "queueEventBatchContainerFactory")
+    public void consumeWaitTimeEvents(List<ConsumerRecord<String, byte[]>> records) {
+        // 배치 안에서 놀이기구별 마지막 이벤트만 반영
+        Map<Integer, RideQueueInfoDto> latestByRide = new LinkedHashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            try {
+                RideQueueInfoDto info = objectMapper.readValue(record.value(), RideQueueInfoDto.class);
+                latestByRide.put(info.rideId(), info);
+            } catch (Exception e) {
+                logger.error("대기 시간 이벤트 파싱 실패 - partition={}, offset={}, message={}",
+                        record.partition(), record.offset(),
+                        record.value() == null ? null : new String(record.value(), StandardCharsets.UTF_8), e);
+            }
+        }
+        applyUpdates(new ArrayList<>(latestByRide.values()));
+    }
+
+    /**
+     * 대기 시간 변경 반영 (시뮬레이터 등 Kafka를 거치지 않는 경로에서도 사용)
+     * 하나라도 바뀌었으면 전체 대기 시간을 한 번 전송
+     */
+    public void applyUpdates(List<RideQueueInfoDto> updates) {
+        boolean changed = false;
+        for (RideQueueInfoDto info : updates) {
+            changed |= rideWaitTimeService.update(info);
+        }
+        if (changed) {
+            rideWaitTimeService.publishMinutes();
+        }
+    }
+}
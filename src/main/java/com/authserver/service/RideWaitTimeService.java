@@ -0,0 +1,192 @@
+package com.authserver.service;
+
+import com.authserver.dto.queue.RideQueueInfoDto;
+import com.authserver.dto.queue.RideWaitTimeDto;
+import com.authserver.dto.websocket.AllRidesMinutesEvent;
+import com.authserver.dto.websocket.RideDetailQueueInfo;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 놀이기구별 대기 시간 상태 테이블
+ *
+ * Kafka 대기 시간 변경 이벤트와 주기적 조회(보정)가 같은 테이블을 갱신하며,
+ * 값이 실제로 바뀐 놀이기구만 /sub/rides/{rideId}/info로 전송합니다. 구독자가 없는 목적지는 직렬화 없이 건너뜁니다.
+ * /sub/rides/minutes는 직전 전송 이후 바뀐 놀이기구만 순번(seq)과 함께 보내고, 바뀐 것이 없으면 보내지 않습니다.
+ * 놀이기구별 seq 발급과 상세 정보 전송은 같은 놀이기구 잠금 안에서 하므로 상세 정보는 항상 seq 순서대로 전송됩니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class RideWaitTimeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RideWaitTimeService.class);
+
+    private final BroadcastPublisher broadcastPublisher;
+    private final LiveSubscriptionRegistry liveSubscriptionRegistry;
+    private final RideWaitTimeStreamService rideWaitTimeStreamService;
+
+    // rideId -> 최신 대기열 정보와 놀이기구별 변경 순번
+    private final Map<Long, RideSlot> rideSlots = new ConcurrentHashMap<>();
+
+    // 전체 대기 시간 스트림의 마지막 전송 상태 (minutesLock으로 보호)
+    private final Object minutesLock = new Object();
+    private final Map<Integer, Integer> publishedMinutes = new TreeMap<>();
+    private long minutesSeq;
+
+    private record RideState(RideQueueInfoDto info, long seq) {
+    }
+
+    // 놀이기구 하나의 최신 상태 (갱신/전송은 이 객체로 잠금, 조회는 잠금 없이)
+    private static final class RideSlot {
+        private volatile RideState state;
+    }
+
+    /**
+     * 놀이기구 대기열 정보 반영, 변경된 경우 상세 정보 전송
+     *
+     * @return 값이 바뀌었으면 true
+     */
+    public boolean update(RideQueueInfoDto info) {
+        if (info == null || info.waitTimes() == null) {
+            return false;
+        }
+        Long rideId = (long) info.rideId();
+        RideSlot slot = rideSlots.computeIfAbsent(rideId, id -> new RideSlot());
+        synchronized (slot) {
+            RideState previous = slot.state;
+            if (previous != null && Objects.equals(previous.info(), info)) {
+                return false;
+            }
+            RideState state = new RideState(info, previous == null ? 1 : previous.seq() + 1);
+            slot.state = state;
+            // 잠금 밖에서 전송하면 나중 seq가 먼저 나갈 수 있음
+            publishDetail(rideId, state);
+        }
+        return true;
+    }
+
+    /**
+     * 특정 놀이기구의 현재 상세 대기열 정보 (스냅샷 요청용)
+     */
+    public Optional<RideDetailQueueInfo> getDetail(Long rideId) {
+        return Optional.ofNullable(rideSlots.get(rideId))
+                .map(slot -> slot.state)
+                .map(state -> toDetail(rideId, state));
+    }
+
+    // 목적지: /sub/rides/{rideId}/info
+    private void publishDetail(Long rideId, RideState state) {
+        String destination = "/sub/rides/" + rideId + "/info";
+        if (!liveSubscriptionRegistry.hasSubscribers(destination)) {
+            return;
+        }
+        broadcastPublisher.send(destination, toDetail(rideId, state));
+        logger.debug("놀이기구 상세 대기열 정보 전송 - rideId={}, seq={}", rideId, state.seq());
+    }
+
+    private static RideDetailQueueInfo toDetail(Long rideId, RideState state) {
+        List<RideDetailQueueInfo.WaitTime> waitTimes = state.info().waitTimes().stream()
+                .map(wt -> new RideDetailQueueInfo.WaitTime(
+                        wt.ticketType(),
+                        wt.waitingCount(),
+                        wt.estimatedWaitMinutes()
+                ))
+                .toList();
+        return new RideDetailQueueInfo(rideId, state.seq(), waitTimes);
+    }
+
+    /**
+     * 직전 전송 이후 대기 시간이 바뀐 놀이기구만 전송
+     * 목적지: /sub/rides/minutes, SSE 구독자에게는 전체 목록
+     */
+    public void publishMinutes() {
+        rideWaitTimeStreamService.publish(this::currentMinutes);
+        if (!liveSubscriptionRegistry.hasSubscribers(LiveSubscriptionRegistry.RIDES_MINUTES_DESTINATION)) {
+            return;
+        }
+        synchronized (minutesLock) {
+            advanceMinutes();
+        }
+    }
+
+    /**
+     * 전체 놀이기구 대기 시간 스냅샷 (놀이기구 ID 오름차순)
+     * 반영되지 않은 변경이 있으면 먼저 변경분을 전송하여 스냅샷의 seq와 이후 변경분이 이어지도록 함
+     */
+    public AllRidesMinutesEvent snapshotMinutes() {
+        synchronized (minutesLock) {
+            advanceMinutes();
+            List<AllRidesMinutesEvent.RideMinutes> rides = new ArrayList<>(publishedMinutes.size());
+            publishedMinutes.forEach((rideId, minutes) -> rides.add(new AllRidesMinutesEvent.RideMinutes(rideId, minutes)));
+            return new AllRidesMinutesEvent(minutesSeq, true, rides);
+        }
+    }
+
+    /**
+     * 현재 테이블 기준 전체 놀이기구 대기 시간 (놀이기구 ID 오름차순)
+     */
+    public List<AllRidesMinutesEvent.RideMinutes> currentMinutes() {
+        List<AllRidesMinutesEvent.RideMinutes> rides = new ArrayList<>();
+        sortedStates().forEach((rideId, state) ->
+                rides.add(new AllRidesMinutesEvent.RideMinutes(rideId.intValue(), minWaitMinutes(state.info()))));
+        return rides;
+    }
+
+    /**
+     * 전체 대기 시간 구독자(STOMP /sub/rides/minutes 또는 SSE)가 있는지 여부
+     */
+    public boolean hasMinutesSubscribers() {
+        return liveSubscriptionRegistry.hasSubscribers(LiveSubscriptionRegistry.RIDES_MINUTES_DESTINATION)
+                || rideWaitTimeStreamService.hasSubscribers();
+    }
+
+    // minutesLock 안에서 호출: 바뀐 놀이기구가 있으면 seq를 올리고 변경분 전송
+    private void advanceMinutes() {
+        List<AllRidesMinutesEvent.RideMinutes> changes = new ArrayList<>();
+        sortedStates().forEach((rideId, state) -> {
+            int minutes = minWaitMinutes(state.info());
+            Integer previous = publishedMinutes.put(rideId.intValue(), minutes);
+            if (previous == null || previous != minutes) {
+                changes.add(new AllRidesMinutesEvent.RideMinutes(rideId.intValue(), minutes));
+            }
+        });
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        minutesSeq++;
+        broadcastPublisher.send(LiveSubscriptionRegistry.RIDES_MINUTES_DESTINATION,
+                new AllRidesMinutesEvent(minutesSeq, false, changes));
+        logger.debug("놀이기구 대기 시간 변경분 전송 - seq={}, 변경 수={}", minutesSeq, changes.size());
+    }
+
+    // 놀이기구 ID 오름차순 현재 상태 (첫 갱신 중이라 아직 상태가 없는 놀이기구는 제외)
+    private Map<Long, RideState> sortedStates() {
+        Map<Long, RideState> states = new TreeMap<>();
+        rideSlots.forEach((rideId, slot) -> {
+            RideState state = slot.state;
+            if (state != null) {
+                states.put(rideId, state);
+            }
+        });
+        return states;
+    }
+
+    // waitTimes에서 최소 대기 시간 추출 (PREMIUM이 일반적으로 더 짧음)
+    private static int minWaitMinutes(RideQueueInfoDto info) {
+        return info.waitTimes().stream()
+                .mapToInt(RideWaitTimeDto::estimatedWaitMinutes)
+                .min()
+                .orElse(0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.authserver.service;
+
+import com.authserver.dto.websocket.AllRidesMinutesEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 놀이기구 대기 시간 SSE 스트림용 공유 발행기
+ *
+ * 대기 시간이 바뀔 때마다 전체 목록(스냅샷)을 하나의 hot publisher로 멀티캐스트합니다.
+ * 매 이벤트가 전체 목록이므로 느린 구독자는 구독자별 버퍼가 차면 오래된 이벤트부터 버리고 최신 것만 받습니다.
+ */
+@Service
+public class RideWaitTimeStreamService {
+
+    private final Sinks.Many<AllRidesMinutesEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final Counter droppedCounter;
+
+    // 구독자별 미전송 이벤트 보관 수 (1이면 항상 최신 스냅샷만 유지)
+    @Value("${sse.wait-times.buffer-size:1}")
+    private int bufferSize;
+
+    @Value("${sse.wait-times.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    private List<AllRidesMinutesEvent.RideMinutes> lastRides;
+    private long seq;
+
+    public RideWaitTimeStreamService(MeterRegistry meterRegistry) {
+        this.droppedCounter = Counter.builder("sse.wait-times.dropped")
+                .description("느린 SSE 구독자에게 전달하지 못하고 버린 대기 시간 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("sse.wait-times.subscribers", sink, Sinks.Many::currentSubscriberCount)
+                .description("대기 시간 SSE 구독자 수")
+                .register(meterRegistry);
+    }
+
+    public boolean hasSubscribers() {
+        return sink.currentSubscriberCount() > 0;
+    }
+
+    /**
+     * 전체 대기 시간 발행 (구독자가 없거나 직전과 같으면 목록을 만들지 않음)
+     */
+    public synchronized void publish(Supplier<List<AllRidesMinutesEvent.RideMinutes>> rides) {
+        if (!hasSubscribers()) {
+            return;
+        }
+        List<AllRidesMinutesEvent.RideMinutes> current = rides.get();
+        if (Objects.equals(current, lastRides)) {
+            return;
+        }
+        lastRides = current;
+        sink.tryEmitNext(new AllRidesMinutesEvent(++seq, true, current));
+    }
+
+    /**
+     * 구독자 한 명의 SSE 스트림: 현재 목록으로 시작하여 변경 시마다 전체 목록, 주기적으로 keepalive 주석
+     */
+    public Flux<ServerSentEvent<AllRidesMinutesEvent>> stream(Supplier<List<AllRidesMinutesEvent.RideMinutes>> initialRides) {
+        Flux<AllRidesMinutesEvent> updates = sink.asFlux()
+                .onBackpressureBuffer(bufferSize, dropped -> droppedCounter.increment(), BufferOverflowStrategy.DROP_OLDEST);
+
+        Flux<ServerSentEvent<AllRidesMinutesEvent>> events = updates
+                .startWith(Flux.defer(() -> Flux.just(new AllRidesMinutesEvent(currentSeq(), true, initialRides.get()))))
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(String.valueOf(event.seq()))
+                        .event("minutes")
+                        .build());
+
+        Flux<ServerSentEvent<AllRidesMinutesEvent>> heartbeats = Flux.interval(Duration.ofSeconds(heartbeatSeconds))
+                .map(tick -> ServerSentEvent.<AllRidesMinutesEvent>builder().comment("keepalive").build());
+
+        return Flux.merge(events, heartbeats);
+    }
+
+    private synchronized long currentSeq() {
+        return seq;
+    }
+}
@@ -0,0 +1,351 @@
+package com.authserver.service;
+
+import com.authserver.dto.TicketHoldResponse;
+import com.authserver.entity.TicketHold;
+import com.authserver.entity.TicketOrder;
+import com.authserver.exception.WaitingRoomPassException;
+import com.authserver.repository.TicketHoldRepository;
+import com.authserver.repository.UserRepository;
+import com.authserver.util.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 티켓 홀드 (구매 전 일정 시간 재고 확보)
+ *
+ * 홀드하면 DB 재고를 바로 차감하고(TicketStockReservationService) 같은 트랜잭션에서 홀드 원장(ticket_hold)에 기록합니다.
+ * 결제 후 확정하면 차감된 재고로 주문을 만들고, 취소하거나 만료되면 재고를 반환하여 메모리 재고 카운터에도 즉시 반영합니다.
+ * 확정/취소는 원장 행을 조건부로 삭제하므로 어느 인스턴스에서 요청해도 처리됩니다.
+ *
+ * 만료는 홀드를 만든 인스턴스가 계층형 타이밍 휠 하나를 tick마다 진행시켜 감지합니다.
+ * 그 인스턴스가 종료되거나 죽어 추적하지 않는 홀드는 주기적인 정리(시작 시 한 번 포함)가 원장에서 찾아 반환합니다.
+ * 반환은 만료된 원장 행을 잠그고 삭제한 만큼만 재고에 더하므로 같은 홀드가 두 번 반환되거나 확정된 홀드가 반환되지 않습니다.
+ */
+@Service
+public class TicketHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketHoldService.class);
+
+    private final TicketStockReservationService ticketStockReservationService;
+    private final TicketOrderService ticketOrderService;
+    private final TicketWaitingRoomService ticketWaitingRoomService;
+    private final TicketHoldRepository ticketHoldRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // holdId -> 이 인스턴스가 만료를 추적하는 홀드
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+    private final HierarchicalTimingWheel<String> expiryWheel;
+
+    private final Counter createdCounter;
+    private final Counter confirmedCounter;
+    private final Counter releasedCounter;
+    private final Counter expiredCounter;
+
+    @Value("${ticket.hold.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${ticket.hold.max-quantity:4}")
+    private int maxQuantity;
+
+    // 사용자 한 명이 티켓 재고 하나에 동시에 가질 수 있는 홀드 수와 총 수량 (재고를 한 사람이 묶어 두지 못하도록)
+    @Value("${ticket.hold.max-active-per-user:2}")
+    private int maxActivePerUser;
+
+    @Value("${ticket.hold.max-units-per-user:4}")
+    private int maxUnitsPerUser;
+
+    // 만료 반환이 실패했을 때 다시 시도하기까지의 시간
+    @Value("${ticket.hold.release-retry-ms:5000}")
+    private long releaseRetryMs;
+
+    // 원장 정리 한 번에 반환할 최대 홀드 수
+    @Value("${ticket.hold.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    public TicketHoldService(TicketStockReservationService ticketStockReservationService,
+                             TicketOrderService ticketOrderService,
+                             TicketWaitingRoomService ticketWaitingRoomService,
+                             TicketHoldRepository ticketHoldRepository,
+                             UserRepository userRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${ticket.hold.tick-ms:100}") long tickMs,
+                             @Value("${ticket.hold.wheel-size:512}") int wheelSize) {
+        this.ticketStockReservationService = ticketStockReservationService;
+        this.ticketOrderService = ticketOrderService;
+        this.ticketWaitingRoomService = ticketWaitingRoomService;
+        this.ticketHoldRepository = ticketHoldRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expiryWheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        this.createdCounter = holdCounter(meterRegistry, "created");
+        this.confirmedCounter = holdCounter(meterRegistry, "confirmed");
+        this.releasedCounter = holdCounter(meterRegistry, "released");
+        this.expiredCounter = holdCounter(meterRegistry, "expired");
+        Gauge.builder("ticket.holds.active", holds, Map::size)
+                .description("이 인스턴스가 만료를 추적 중인 티켓 홀드 수")
+                .register(meterRegistry);
+    }
+
+    private static Counter holdCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ticket.holds")
+                .description("티켓 홀드 처리 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이 인스턴스가 만료를 추적하는 홀드와 현재 만료 예약
+     */
+    private static final class Hold {
+
+        private final String holdId;
+        private final Long ticketManagementId;
+        private final long expiresAtMillis;
+        private volatile HierarchicalTimingWheel.Timeout<String> timeout;
+
+        private Hold(String holdId, Long ticketManagementId, long expiresAtMillis) {
+            this.holdId = holdId;
+            this.ticketManagementId = ticketManagementId;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        // 만료 예약 전에 꺼내진 경우 timeout이 아직 없을 수 있음 (그 뒤 만료되어도 원장 행이 없으므로 무시됨)
+        private void cancelTimeout() {
+            HierarchicalTimingWheel.Timeout<String> current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    /**
+     * 재고 quantity개 홀드 (대기실 통행증 사용, 커밋된 뒤부터 만료 시간 측정)
+     *
+     * @throws WaitingRoomPassException 대기실 통행증이 없거나 이미 사용된 경우
+     * @throws IllegalArgumentException 수량이 잘못되었거나 티켓 재고 정보가 없는 경우
+     * @throws IllegalStateException 재고가 부족하거나 사용자의 홀드 한도를 넘는 경우
+     */
+    @Transactional
+    public TicketHoldResponse hold(Long userId, Long ticketManagementId, int quantity, String waitingRoomPass) {
+        if (quantity <= 0 || quantity > maxQuantity) {
+            throw new IllegalArgumentException("홀드 수량은 1 이상 " + maxQuantity + " 이하여야 합니다.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        checkUserLimit(userId, ticketManagementId, quantity, now);
+        ticketWaitingRoomService.consumePass(waitingRoomPass, userId, ticketManagementId);
+        ticketStockReservationService.reserve(ticketManagementId, quantity);
+
+        LocalDateTime expiresAt = now.plusSeconds(ttlSeconds).truncatedTo(ChronoUnit.MICROS);
+        TicketHold ledger = new TicketHold(UUID.randomUUID().toString(), userId, ticketManagementId, quantity, expiresAt, now);
+        ticketHoldRepository.save(ledger);
+
+        Hold hold = new Hold(ledger.getHoldId(), ticketManagementId, toEpochMilli(expiresAt));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                track(hold);
+                createdCounter.increment();
+            }
+        });
+        return toResponse(ledger);
+    }
+
+    /**
+     * 홀드 확정 (홀드한 수량만큼 주문 생성, 롤백되면 홀드 유지)
+     *
+     * @throws IllegalArgumentException 본인의 홀드가 아니거나 이미 확정/반환된 경우
+     * @throws IllegalStateException 홀드가 만료된 경우
+     */
+    @Transactional
+    public List<TicketOrder> confirm(Long userId, String holdId) {
+        TicketHold hold = claim(userId, holdId);
+        List<TicketOrder> ticketOrders = ticketOrderService.createHeldTicketOrders(
+                userId, hold.getTicketManagementId(), hold.getQuantity());
+        untrack(holdId, confirmedCounter);
+        return ticketOrders;
+    }
+
+    /**
+     * 홀드 취소 (재고 반환, 롤백되면 홀드 유지)
+     *
+     * @throws IllegalArgumentException 본인의 홀드가 아니거나 이미 확정/반환된 경우
+     * @throws IllegalStateException 홀드가 만료된 경우
+     */
+    @Transactional
+    public void release(Long userId, String holdId) {
+        TicketHold hold = claim(userId, holdId);
+        ticketStockReservationService.release(hold.getTicketManagementId(), hold.getQuantity());
+        untrack(holdId, releasedCounter);
+    }
+
+    /**
+     * 타이밍 휠을 현재 시각까지 진행하고 만료된 홀드를 티켓 재고별로 묶어 반환
+     */
+    @Scheduled(fixedDelayString = "${ticket.hold.tick-ms:100}")
+    public void expire() {
+        long now = System.currentTimeMillis();
+        Map<Long, List<Hold>> expiredByTicket = new HashMap<>();
+        for (String holdId : expiryWheel.advance(now)) {
+            Hold hold = holds.get(holdId);
+            // 확정/취소가 먼저 가져간 홀드는 건너뜀
+            if (hold != null && holds.remove(holdId, hold)) {
+                expiredByTicket.computeIfAbsent(hold.ticketManagementId, id -> new ArrayList<>()).add(hold);
+            }
+        }
+        expiredByTicket.forEach((ticketManagementId, expired) -> {
+            List<String> holdIds = expired.stream().map(hold -> hold.holdId).toList();
+            if (!releaseExpired(ticketManagementId, holdIds)) {
+                // 반환하지 못한 홀드는 잠시 뒤 다시 만료시킴
+                expired.forEach(hold -> track(hold, now + releaseRetryMs));
+            }
+        });
+    }
+
+    /**
+     * 원장에 남은 만료 홀드 반환 (시작 시 한 번, 이후 주기적으로 실행)
+     * 홀드를 만든 인스턴스가 종료되어 타이밍 휠로 추적되지 않는 홀드를 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${ticket.hold.sweep-ms:60000}")
+    public void sweepExpired() {
+        List<TicketHold> expired;
+        try {
+            expired = ticketHoldRepository.findExpired(LocalDateTime.now(), PageRequest.of(0, sweepBatchSize));
+        } catch (Exception e) {
+            logger.error("만료 티켓 홀드 조회 실패", e);
+            return;
+        }
+        Map<Long, List<String>> expiredByTicket = new HashMap<>();
+        expired.forEach(hold -> expiredByTicket
+                .computeIfAbsent(hold.getTicketManagementId(), id -> new ArrayList<>()).add(hold.getHoldId()));
+        expiredByTicket.forEach(this::releaseExpired);
+    }
+
+    // 사용자 행을 잠가 같은 사용자의 동시 홀드가 한도 확인을 함께 통과하지 못하게 함 (다른 사용자와는 경합 없음)
+    private void checkUserLimit(Long userId, Long ticketManagementId, int quantity, LocalDateTime now) {
+        if (userRepository.lockById(userId) == null) {
+            throw new IllegalArgumentException("사용자를 찾을 수 없습니다.");
+        }
+        if (ticketHoldRepository.countActive(userId, ticketManagementId, now) >= maxActivePerUser) {
+            throw new IllegalStateException("동시에 가질 수 있는 티켓 홀드는 " + maxActivePerUser + "개까지입니다.");
+        }
+        if (ticketHoldRepository.sumActiveQuantity(userId, ticketManagementId, now) + quantity > maxUnitsPerUser) {
+            throw new IllegalStateException("티켓 재고 하나에 홀드할 수 있는 수량은 " + maxUnitsPerUser + "개까지입니다.");
+        }
+    }
+
+    // 본인의 유효한 홀드를 원장에서 삭제 (같은 홀드의 확정/취소/만료 반환 중 하나만 성공)
+    private TicketHold claim(Long userId, String holdId) {
+        TicketHold hold = ticketHoldRepository.findById(holdId)
+                .filter(found -> found.getUserId().equals(userId))
+                .orElseThrow(() -> new IllegalArgumentException("티켓 홀드를 찾을 수 없습니다."));
+        LocalDateTime now = LocalDateTime.now();
+        if (!hold.getExpiresAt().isAfter(now)) {
+            throw new IllegalStateException("티켓 홀드가 만료되었습니다.");
+        }
+        if (ticketHoldRepository.deleteActive(holdId, userId, now) == 0) {
+            throw new IllegalArgumentException("티켓 홀드를 찾을 수 없습니다.");
+        }
+        return hold;
+    }
+
+    // 이 인스턴스가 추적하던 홀드면 만료 예약 취소 (롤백되면 다시 추적)
+    private void untrack(String holdId, Counter completedCounter) {
+        Hold local = holds.remove(holdId);
+        if (local != null) {
+            local.cancelTimeout();
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    completedCounter.increment();
+                } else if (local != null) {
+                    // 만료 시각이 이미 지났으면 다음 tick에 만료되어 재고로 반환됨
+                    track(local);
+                }
+            }
+        });
+    }
+
+    private void track(Hold hold) {
+        track(hold, hold.expiresAtMillis);
+    }
+
+    // 만료 예약보다 먼저 등록해야 바로 만료되는 홀드도 반환됨
+    private void track(Hold hold, long deadlineMillis) {
+        holds.put(hold.holdId, hold);
+        hold.timeout = expiryWheel.schedule(hold.holdId, deadlineMillis);
+    }
+
+    // 만료된 원장 행을 잠가 삭제하고 그만큼 재고 반환 (이미 확정/반환된 홀드는 행이 없어 건너뜀)
+    private boolean releaseExpired(Long ticketManagementId, List<String> holdIds) {
+        try {
+            Integer released = transactionTemplate.execute(status -> deleteExpired(ticketManagementId, holdIds, true));
+            expiredCounter.increment(released == null ? 0 : released);
+            return true;
+        } catch (IllegalArgumentException e) {
+            // 티켓 재고가 삭제됨: 돌려줄 곳이 없으므로 원장에서만 지움
+            logger.warn("삭제된 티켓 재고의 홀드 폐기 - ticketManagementId={}, 홀드 수={}", ticketManagementId, holdIds.size());
+            return discardExpired(ticketManagementId, holdIds);
+        } catch (Exception e) {
+            logger.error("티켓 홀드 재고 반환 실패 - ticketManagementId={}, 홀드 수={}", ticketManagementId, holdIds.size(), e);
+            return false;
+        }
+    }
+
+    private boolean discardExpired(Long ticketManagementId, List<String> holdIds) {
+        try {
+            transactionTemplate.execute(status -> deleteExpired(ticketManagementId, holdIds, false));
+            return true;
+        } catch (Exception e) {
+            logger.error("티켓 홀드 폐기 실패 - ticketManagementId={}", ticketManagementId, e);
+            return false;
+        }
+    }
+
+    private int deleteExpired(Long ticketManagementId, List<String> holdIds, boolean restoreStock) {
+        List<TicketHold> expired = ticketHoldRepository.findExpiredForUpdate(holdIds, LocalDateTime.now());
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        ticketHoldRepository.deleteAllInBatch(expired);
+        if (restoreStock) {
+            ticketStockReservationService.release(ticketManagementId,
+                    expired.stream().mapToInt(TicketHold::getQuantity).sum());
+        }
+        return expired.size();
+    }
+
+    private TicketHoldResponse toResponse(TicketHold hold) {
+        return new TicketHoldResponse(hold.getHoldId(), hold.getTicketManagementId(), hold.getQuantity(),
+                hold.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
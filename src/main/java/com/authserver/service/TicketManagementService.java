@@ -23,6 +23,7 @@ public class TicketManagementService {
 
     private final TicketManagementRepository ticketManagementRepository;
     private final TicketRepository ticketRepository;
+    private final TicketStockReservationService ticketStockReservationService;
 
     /**
      * 티켓 재고 생성
@@ -87,9 +88,17 @@ public class TicketManagementService {
         TicketManagement ticketManagement = getTicketManagement(ticketManagementId);
         if (ticketId != null) ticketManagement.setTicketId(ticketId);
         if (availableAt != null) ticketManagement.setAvailableAt(availableAt);
-        if (stock != null) ticketManagement.setStock(stock);
+        TicketManagement saved = ticketManagementRepository.save(ticketManagement);
 
-        return ticketManagementRepository.save(ticketManagement);
+        // 재고는 엔티티 저장에서 제외되므로 별도 UPDATE로 반영
+        if (stock != null) {
+            ticketManagementRepository.overwriteStock(ticketManagementId, stock);
+            saved.setStock(stock);
+        }
+
+        // 예약용 메모리 재고는 커밋 후 폐기하여 새 재고로 다시 적재
+        ticketStockReservationService.invalidate(ticketManagementId);
+        return saved;
     }
 
     /**
@@ -97,6 +106,7 @@ public class TicketManagementService {
      */
     @Transactional
     public void deleteTicketManagement(Long ticketManagementId) {
+        ticketStockReservationService.invalidate(ticketManagementId);
         ticketManagementRepository.deleteById(ticketManagementId);
     }
 
@@ -1,7 +1,10 @@
 package com.authserver.service;
 
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import com.authserver.dto.TicketOrderResponseDto;
 import com.authserver.entity.TicketOrder;
@@ -9,13 +12,17 @@ import com.authserver.entity.ActiveStatus;
 import com.authserver.entity.TicketManagement;
 import com.authserver.entity.Ticket;
 import com.authserver.entity.TicketType;
+import com.authserver.exception.WaitingRoomPassException;
 import com.authserver.repository.TicketOrderRepository;
 import com.authserver.repository.TicketManagementRepository;
 import com.authserver.repository.TicketRepository;
+import com.authserver.util.EventLogSampler;
+import com.authserver.util.EventLogSampler.Category;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -27,15 +34,27 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TicketOrderService {
 
+    private static final Logger logger = LoggerFactory.getLogger(TicketOrderService.class);
+
     private final TicketOrderRepository ticketOrderRepository;
     private final TicketManagementRepository ticketManagementRepository;
     private final TicketRepository ticketRepository;
+    private final TicketStockReservationService ticketStockReservationService;
+    private final TicketWaitingRoomService ticketWaitingRoomService;
+    private final EventLogSampler eventLog;
 
     /**
-     * 티켓 주문 생성
+     * 티켓 주문 생성 (대기실 통행증 사용, 재고 1장 차감과 주문 저장을 하나의 트랜잭션으로 처리)
+     *
+     * @throws WaitingRoomPassException 대기실 통행증이 없거나 이미 사용된 경우
+     * @throws IllegalArgumentException 티켓 재고 정보가 없는 경우
+     * @throws IllegalStateException 매진된 경우
      */
     @Transactional
-    public TicketOrder createTicketOrder(Long userId, Long ticketManagementId) {
+    public TicketOrder createTicketOrder(Long userId, Long ticketManagementId, String waitingRoomPass) {
+        ticketWaitingRoomService.consumePass(waitingRoomPass, userId, ticketManagementId);
+        ticketStockReservationService.reserve(ticketManagementId, 1);
+
         TicketOrder ticketOrder = new TicketOrder();
         ticketOrder.setUserId(userId);
         ticketOrder.setTicketManagementId(ticketManagementId);
@@ -45,6 +64,24 @@ public class TicketOrderService {
         return ticketOrderRepository.save(ticketOrder);
     }
 
+    /**
+     * 홀드 확정으로 티켓 주문 생성 (재고는 홀드할 때 이미 차감됨, 호출자의 트랜잭션에 참여)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<TicketOrder> createHeldTicketOrders(Long userId, Long ticketManagementId, int quantity) {
+        LocalDateTime paymentDate = LocalDateTime.now();
+        List<TicketOrder> ticketOrders = new ArrayList<>(quantity);
+        for (int i = 0; i < quantity; i++) {
+            TicketOrder ticketOrder = new TicketOrder();
+            ticketOrder.setUserId(userId);
+            ticketOrder.setTicketManagementId(ticketManagementId);
+            ticketOrder.setPaymentDate(paymentDate);
+            ticketOrder.setActiveStatus(ActiveStatus.ACTIVE);
+            ticketOrders.add(ticketOrder);
+        }
+        return ticketOrderRepository.saveAll(ticketOrders);
+    }
+
     /**
      * 티켓 주문 조회
      */
@@ -185,21 +222,17 @@ public class TicketOrderService {
         // 오늘 날짜의 시작 시간 (00:00:00)
         LocalDateTime startOfToday = LocalDate.now().atStartOfDay();
 
-        java.util.logging.Logger.getLogger(this.getClass().getName())
-                .info(String.format("사용자 티켓 조회 - userId=%d, 총 티켓수=%d, 기준시간=%s",
-                      userId, ticketOrders.size(), startOfToday));
-
         List<TicketOrderResponseDto> result = ticketOrders.stream()
                 .map(this::convertToDto)
-                .peek(dto -> java.util.logging.Logger.getLogger(this.getClass().getName())
-                        .info(String.format("티켓 변환 완료 - ticketOrderId=%d, availableAt=%s, ticketType=%s",
-                              dto.getTicketOrderId(), dto.getAvailableAt(), dto.getTicketType())))
                 .filter(dto -> !dto.getAvailableAt().isBefore(startOfToday)) // 오늘 00:00:00 이후 (오늘 포함)
                 .sorted((dto1, dto2) -> dto1.getAvailableAt().compareTo(dto2.getAvailableAt())) // 날짜 빠른 순 정렬
                 .collect(Collectors.toList());
 
-        java.util.logging.Logger.getLogger(this.getClass().getName())
-                .info(String.format("필터링 후 티켓수=%d", result.size()));
+        eventLog.info(logger, Category.TICKET_QUERY)
+                .addKeyValue("userId", userId)
+                .addKeyValue("total", ticketOrders.size())
+                .addKeyValue("upcoming", result.size())
+                .log("사용자 티켓 조회");
 
         return result;
     }
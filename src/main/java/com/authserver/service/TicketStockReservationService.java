@@ -0,0 +1,262 @@
+package com.authserver.service;
+
+import com.authserver.repository.TicketManagementRepository;
+import com.authserver.util.StripedStockCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 티켓 재고 예약
+ *
+ * 재고의 기준값은 DB이며, 조건부 UPDATE(stock >= n일 때만 차감) 한 문장으로 차감하므로 동시에 몰려도 초과 판매되지 않습니다.
+ * 그 앞에 티켓 재고별 메모리 카운터(여러 칸으로 나눈 CAS 카운터)를 두어, 매진된 날짜의 요청은 DB에 가지 않고 바로 거절합니다.
+ * 메모리 카운터는 거절용 추정값일 뿐이므로 주기적으로 DB 재고와의 차이만큼 보정하고, 어긋나도 DB 차감에서 걸러집니다.
+ * 보정은 커밋 중인 예약/반환이 없고 DB를 읽는 동안 예약 상태가 바뀌지 않았을 때만 하여, 커밋 직후의 차감을 두 번 빼지 않습니다.
+ */
+@Service
+public class TicketStockReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketStockReservationService.class);
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    private final TicketManagementRepository ticketManagementRepository;
+
+    // ticketManagementId -> 메모리 재고
+    private final Map<Long, StockGate> gates = new ConcurrentHashMap<>();
+
+    private final Counter reservedCounter;
+    private final Counter soldOutInMemoryCounter;
+    private final Counter soldOutInDatabaseCounter;
+
+    // 메모리 카운터 칸 수 (0이면 CPU 코어 수)
+    @Value("${ticket.stock.stripes:0}")
+    private int stripes;
+
+    // 이 시간 동안 예약이 없던 재고는 메모리에서 내림
+    @Value("${ticket.stock.idle-evict-ms:600000}")
+    private long idleEvictMs;
+
+    public TicketStockReservationService(TicketManagementRepository ticketManagementRepository, MeterRegistry meterRegistry) {
+        this.ticketManagementRepository = ticketManagementRepository;
+        this.reservedCounter = reservationCounter(meterRegistry, "reserved");
+        this.soldOutInMemoryCounter = reservationCounter(meterRegistry, "sold-out-memory");
+        this.soldOutInDatabaseCounter = reservationCounter(meterRegistry, "sold-out-database");
+    }
+
+    private static Counter reservationCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ticket.stock.reservations")
+                .description("티켓 재고 예약 결과 (sold-out-memory: DB 조회 없이 거절)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 메모리 재고 카운터와 진행 중인 예약/반환 상태
+     */
+    private static final class StockGate {
+
+        private final StripedStockCounter counter;
+        // DB에서 차감했지만 아직 커밋을 시작하지 않은 예약 수량 (다른 연결에서 읽은 DB 재고에는 아직 포함됨)
+        private final AtomicInteger pending = new AtomicInteger();
+        // 커밋 중인 예약/반환 수 (DB 재고 반영 여부를 알 수 없으므로 0일 때만 보정)
+        private final AtomicInteger committing = new AtomicInteger();
+        // pending/committing이 바뀔 때마다 증가 (보정 중 변경 감지)
+        private final AtomicLong version = new AtomicLong();
+        private volatile long lastUsedMillis = System.currentTimeMillis();
+
+        private StockGate(StripedStockCounter counter) {
+            this.counter = counter;
+        }
+
+        private void addPending(int quantity) {
+            pending.addAndGet(quantity);
+            version.incrementAndGet();
+        }
+
+        private void addCommitting(int delta) {
+            committing.addAndGet(delta);
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * 재고 quantity개 차감 (호출자의 트랜잭션에 참여, 롤백되면 메모리 재고도 되돌림)
+     *
+     * @throws IllegalArgumentException 티켓 재고 정보가 없는 경우
+     * @throws IllegalStateException 재고가 부족한 경우
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Long ticketManagementId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("예약 수량은 1 이상이어야 합니다.");
+        }
+        StockGate gate = gateOf(ticketManagementId);
+        gate.lastUsedMillis = System.currentTimeMillis();
+
+        StripedStockCounter counter = gate.counter;
+        if (!counter.tryAcquire(quantity)) {
+            soldOutInMemoryCounter.increment();
+            throw new IllegalStateException("매진된 티켓입니다.");
+        }
+        gate.addPending(quantity);
+
+        int updated;
+        try {
+            updated = ticketManagementRepository.decrementStock(ticketManagementId, quantity);
+        } catch (RuntimeException e) {
+            gate.addPending(-quantity);
+            counter.release(quantity);
+            throw e;
+        }
+        if (updated == 0) {
+            // 다른 인스턴스가 먼저 팔았거나 재고가 수정됨: 메모리 재고는 다음 보정 때 DB 값으로 맞춰짐
+            gate.addPending(-quantity);
+            soldOutInDatabaseCounter.increment();
+            throw new IllegalStateException("매진된 티켓입니다.");
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                gate.addCommitting(1);
+                gate.addPending(-quantity);
+                committing = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (committing) {
+                    gate.addCommitting(-1);
+                } else {
+                    gate.addPending(-quantity);
+                }
+                if (status != STATUS_COMMITTED) {
+                    counter.release(quantity);
+                }
+            }
+        });
+        reservedCounter.increment();
+    }
+
+    /**
+     * 재고 quantity개 반환 (호출자의 트랜잭션에 참여, 커밋 후 메모리 재고에 반영)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long ticketManagementId, int quantity) {
+        if (ticketManagementRepository.incrementStock(ticketManagementId, quantity) == 0) {
+            throw new IllegalArgumentException("티켓 재고 정보를 찾을 수 없습니다.");
+        }
+        StockGate gate = gates.get(ticketManagementId);
+        if (gate == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                gate.addCommitting(1);
+                committing = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    gate.counter.release(quantity);
+                }
+                if (committing) {
+                    gate.addCommitting(-1);
+                }
+            }
+        });
+    }
+
+    /**
+     * 관리자 재고 수정/삭제 후 메모리 재고 폐기 (다음 예약 때 DB에서 다시 적재)
+     */
+    public void invalidate(Long ticketManagementId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            gates.remove(ticketManagementId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                gates.remove(ticketManagementId);
+            }
+        });
+    }
+
+    /**
+     * 메모리 재고를 DB 재고 - 커밋 전 예약 수량과의 차이만큼 보정하고, 오래 쓰지 않은 재고는 내림
+     * 커밋 중인 예약/반환이 있거나 DB를 읽는 동안 상태가 바뀌었으면 다음 주기로 미룸
+     * (매진되어 메모리에서 거절만 하는 재고는 상태가 바뀌지 않으므로 부하 중에도 보정됨)
+     */
+    @Scheduled(fixedDelayString = "${ticket.stock.reconcile-interval-ms:5000}")
+    public void reconcile() {
+        long now = System.currentTimeMillis();
+        gates.forEach((ticketManagementId, gate) -> {
+            if (now - gate.lastUsedMillis > idleEvictMs) {
+                gates.remove(ticketManagementId, gate);
+                return;
+            }
+            try {
+                long version = gate.version.get();
+                int pending = gate.pending.get();
+                if (gate.committing.get() > 0) {
+                    return;
+                }
+                Optional<Integer> stock = ticketManagementRepository.findStockById(ticketManagementId);
+                if (stock.isEmpty()) {
+                    gates.remove(ticketManagementId, gate);
+                    return;
+                }
+                if (gate.version.get() != version) {
+                    return;
+                }
+                int available = gate.counter.available();
+                int delta = Math.max(0, stock.get() - pending) - available;
+                if (delta != 0) {
+                    logger.debug("메모리 재고 보정 - ticketManagementId={}, 메모리={}, 보정={}",
+                            ticketManagementId, available, delta);
+                    gate.counter.adjust(delta);
+                }
+            } catch (Exception e) {
+                logger.error("메모리 재고 보정 실패 - ticketManagementId={}", ticketManagementId, e);
+            }
+        });
+    }
+
+    private StockGate gateOf(Long ticketManagementId) {
+        StockGate gate = gates.get(ticketManagementId);
+        if (gate != null) {
+            return gate;
+        }
+        int stock = ticketManagementRepository.findStockById(ticketManagementId)
+                .orElseThrow(() -> new IllegalArgumentException("티켓 재고 정보를 찾을 수 없습니다."));
+        StockGate loaded = new StockGate(new StripedStockCounter(Math.max(0, stock), stripeCount()));
+        StockGate existing = gates.putIfAbsent(ticketManagementId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private int stripeCount() {
+        return stripes > 0 ? stripes : CORES;
+    }
+}
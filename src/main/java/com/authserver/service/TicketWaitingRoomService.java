@@ -0,0 +1,354 @@
+package com.authserver.service;
+
+import com.authserver.dto.WaitingRoomStatusResponse;
+import com.authserver.dto.websocket.WaitingRoomProgressEvent;
+import com.authserver.entity.WaitingRoom;
+import com.authserver.entity.WaitingRoomEntry;
+import com.authserver.exception.WaitingRoomPassException;
+import com.authserver.repository.TicketManagementRepository;
+import com.authserver.repository.WaitingRoomEntryRepository;
+import com.authserver.repository.WaitingRoomRepository;
+import com.authserver.util.JwtUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 티켓 판매 대기실
+ *
+ * 판매가 열린 티켓 재고(TicketManagement)마다 대기실을 두고, 입장한 사용자에게 도착 순서대로 순번을 발급합니다.
+ * 초당 admit-per-second명씩 순번을 허가하며, 허가된 사용자만 짧게 유효한 서명 통행증을 받아 티켓을 주문할 수 있습니다.
+ * 통행증은 허가 한 번에 한 장만 발급되고(jti를 입장 기록에 저장), 주문/선점 트랜잭션이 커밋되면 입장 기록과 함께 사라집니다.
+ * 응답이 유실되어도 주문할 수 있도록, 쓰지 않았고 만료 전이면 조회할 때마다 같은 jti와 만료 시각으로 다시 서명해 돌려줍니다.
+ * 쓰지 않고 만료된 통행증은 다시 입장하면 맨 뒤 순번으로 새로 줄을 섭니다.
+ * 진행 상황은 대기실 목적지(/sub/waiting-room/{ticketManagementId})로 허가된 순번 하나만 보내고, 클라이언트가 자신의 순서를 계산합니다.
+ *
+ * 대기실은 판매 중인(이용일이 오늘 이후인) 티켓 재고에만 만들어, 없는 ID로 대기실이 늘어나지 않게 합니다.
+ * 대기실 상태는 DB에 두어 어느 인스턴스로 요청이 가도 같은 순번을 봅니다.
+ * 허가 순번은 마지막 허가 시각부터 지난 시간 x 허가 속도만큼만 전진하고 조건부 UPDATE로 한 인스턴스만 반영하므로,
+ * 모든 인스턴스가 틱을 돌려도 전체 허가 속도는 인스턴스 수와 관계없이 admit-per-second입니다.
+ * 진행 상황은 각 인스턴스가 DB에서 읽은 값을 자기 노드의 구독자에게 보냅니다.
+ */
+@Service
+public class TicketWaitingRoomService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketWaitingRoomService.class);
+    public static final String PASS_HEADER = "X-Waiting-Room-Pass";
+    private static final String DESTINATION_PREFIX = "/sub/waiting-room/";
+
+    private final JwtUtil jwtUtil;
+    private final BroadcastPublisher broadcastPublisher;
+    private final LiveSubscriptionRegistry liveSubscriptionRegistry;
+    private final WaitingRoomRepository waitingRoomRepository;
+    private final WaitingRoomEntryRepository waitingRoomEntryRepository;
+    private final TicketManagementRepository ticketManagementRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // ticketManagementId -> 마지막 틱에서 읽은 대기 인원 (지표용)
+    private final Map<Long, Long> waitingByRoom = new ConcurrentHashMap<>();
+    // ticketManagementId -> 이 노드가 마지막으로 전송한 허가 순번
+    private final Map<Long, Long> publishedAdmittedSeq = new ConcurrentHashMap<>();
+
+    private final Counter admittedCounter;
+
+    // false이면 티켓 주문 시 통행증을 확인하지 않음
+    @Value("${ticket.waiting-room.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ticket.waiting-room.admit-per-second:50}")
+    private double admitPerSecond;
+
+    // 한산할 때 대기 없이 바로 허가할 수 있는 인원
+    @Value("${ticket.waiting-room.burst:50}")
+    private long burst;
+
+    @Value("${ticket.waiting-room.pass-ttl-seconds:120}")
+    private long passTtlSeconds;
+
+    @Value("${ticket.waiting-room.idle-evict-ms:600000}")
+    private long idleEvictMs;
+
+    public TicketWaitingRoomService(JwtUtil jwtUtil, BroadcastPublisher broadcastPublisher,
+                                    LiveSubscriptionRegistry liveSubscriptionRegistry,
+                                    WaitingRoomRepository waitingRoomRepository,
+                                    WaitingRoomEntryRepository waitingRoomEntryRepository,
+                                    TicketManagementRepository ticketManagementRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.broadcastPublisher = broadcastPublisher;
+        this.liveSubscriptionRegistry = liveSubscriptionRegistry;
+        this.waitingRoomRepository = waitingRoomRepository;
+        this.waitingRoomEntryRepository = waitingRoomEntryRepository;
+        this.ticketManagementRepository = ticketManagementRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.admittedCounter = Counter.builder("ticket.waiting-room.admitted")
+                .description("이 인스턴스가 대기실에서 입장 허가한 순번 수")
+                .register(meterRegistry);
+        Gauge.builder("ticket.waiting-room.waiting", waitingByRoom,
+                        rooms -> rooms.values().stream().mapToLong(Long::longValue).sum())
+                .description("대기실에서 입장 허가를 기다리는 인원")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 대기실 입장 (이미 입장한 사용자는 기존 순번 유지, 발급된 통행증이 만료되었으면 맨 뒤로 재입장)
+     *
+     * @throws IllegalArgumentException 없거나 판매가 끝난 티켓 재고인 경우
+     */
+    public WaitingRoomStatusResponse enter(Long userId, Long ticketManagementId) {
+        WaitingRoomEntry entry = waitingRoomEntryRepository.findByTicketManagementIdAndUserId(ticketManagementId, userId)
+                .orElse(null);
+        if (entry != null && isPassExpired(entry)) {
+            Long expiredEntryId = entry.getEntryId();
+            LocalDateTime now = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> waitingRoomEntryRepository.deleteExpired(expiredEntryId, now));
+            entry = null;
+        }
+        if (entry == null) {
+            checkOnSale(ticketManagementId);
+            entry = createEntry(userId, ticketManagementId);
+        }
+        return statusOf(entry, findRoom(ticketManagementId));
+    }
+
+    /**
+     * 대기실 내 현재 상태 (허가 후 통행증을 쓰기 전까지는 조회할 때마다 같은 통행증 포함)
+     *
+     * @throws IllegalArgumentException 대기실에 입장하지 않은 경우
+     */
+    public WaitingRoomStatusResponse getStatus(Long userId, Long ticketManagementId) {
+        WaitingRoomEntry entry = waitingRoomEntryRepository.findByTicketManagementIdAndUserId(ticketManagementId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("대기실에 입장하지 않았습니다."));
+        return statusOf(entry, findRoom(ticketManagementId));
+    }
+
+    /**
+     * 통행증 사용 (티켓 주문/선점 트랜잭션 안에서 호출, 대기실이 꺼져 있으면 확인하지 않음)
+     * 입장 기록을 삭제하므로 호출 트랜잭션이 커밋되면 같은 통행증으로 다시 주문할 수 없고,
+     * 매진 등으로 롤백되면 통행증은 만료 전까지 다시 쓸 수 있습니다.
+     *
+     * @throws WaitingRoomPassException 통행증이 없거나 위조/만료/이미 사용된 경우
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void consumePass(String pass, Long userId, Long ticketManagementId) {
+        if (!enabled) {
+            return;
+        }
+        String passId = pass == null ? null
+                : jwtUtil.verifyWaitingRoomPass(pass, userId, ticketManagementId).orElse(null);
+        if (passId == null
+                || waitingRoomEntryRepository.consumePass(passId, userId, ticketManagementId, LocalDateTime.now()) == 0) {
+            throw new WaitingRoomPassException("대기실 입장 허가가 필요합니다.");
+        }
+    }
+
+    // 판매 중인 재고에만 대기실을 만듦 (이용일이 오늘 이후)
+    private void checkOnSale(Long ticketManagementId) {
+        if (!ticketManagementRepository.existsByTicketManagementIdAndAvailableAtGreaterThanEqual(
+                ticketManagementId, LocalDate.now().atStartOfDay())) {
+            throw new IllegalArgumentException("판매 중인 티켓이 아닙니다.");
+        }
+    }
+
+    private WaitingRoomEntry createEntry(Long userId, Long ticketManagementId) {
+        Long seq = transactionTemplate.execute(status -> allocateSeq(ticketManagementId));
+        if (seq == null) {
+            // 첫 입장: 대기실 행을 따로 만든 뒤 다시 발급 (같은 트랜잭션에서 만들면 동시 첫 입장끼리 교착될 수 있음)
+            transactionTemplate.executeWithoutResult(status -> waitingRoomRepository.createIfMissing(ticketManagementId));
+            seq = transactionTemplate.execute(status -> allocateSeq(ticketManagementId));
+        }
+
+        WaitingRoomEntry entry = new WaitingRoomEntry();
+        entry.setTicketManagementId(ticketManagementId);
+        entry.setUserId(userId);
+        entry.setSeq(seq);
+        entry.setCreatedAt(LocalDateTime.now());
+        try {
+            return waitingRoomEntryRepository.save(entry);
+        } catch (DataIntegrityViolationException e) {
+            // 같은 사용자가 동시에 입장: 먼저 저장된 순번 사용 (방금 발급한 순번은 빈 번호로 남아 허가만 한 칸 소모)
+            return waitingRoomEntryRepository.findByTicketManagementIdAndUserId(ticketManagementId, userId)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    // 순번 하나 발급, 대기실이 없으면 null (행 잠금은 이 짧은 트랜잭션 동안만)
+    private Long allocateSeq(Long ticketManagementId) {
+        if (waitingRoomRepository.incrementLastSeq(ticketManagementId) == 0) {
+            return null;
+        }
+        return waitingRoomRepository.findLastSeq(ticketManagementId);
+    }
+
+    private WaitingRoom findRoom(Long ticketManagementId) {
+        return waitingRoomRepository.findById(ticketManagementId)
+                .orElseThrow(() -> new IllegalArgumentException("대기실에 입장하지 않았습니다."));
+    }
+
+    private WaitingRoomStatusResponse statusOf(WaitingRoomEntry entry, WaitingRoom room) {
+        long seq = entry.getSeq();
+        long admittedSeq = room.getAdmittedSeq();
+        Long ticketManagementId = entry.getTicketManagementId();
+        if (seq > admittedSeq) {
+            return new WaitingRoomStatusResponse(ticketManagementId, seq, seq - admittedSeq, false, null, null);
+        }
+        String passId = entry.getPassId();
+        LocalDateTime expiresAt = entry.getPassExpiresAt();
+        if (passId == null) {
+            String newPassId = UUID.randomUUID().toString();
+            LocalDateTime newExpiresAt = LocalDateTime.now().plusSeconds(passTtlSeconds).truncatedTo(ChronoUnit.MICROS);
+            Integer issued = transactionTemplate.execute(status ->
+                    waitingRoomEntryRepository.issuePass(entry.getEntryId(), newPassId, newExpiresAt));
+            if (issued != null && issued == 1) {
+                passId = newPassId;
+                expiresAt = newExpiresAt;
+            } else {
+                // 동시 조회 중 다른 요청이 먼저 발급함: 그 통행증을 읽어 돌려줌 (이미 사용되었으면 입장 기록이 없음)
+                WaitingRoomEntry issuedEntry = waitingRoomEntryRepository
+                        .findByTicketManagementIdAndUserId(ticketManagementId, entry.getUserId())
+                        .orElseThrow(() -> new IllegalArgumentException("대기실에 입장하지 않았습니다."));
+                passId = issuedEntry.getPassId();
+                expiresAt = issuedEntry.getPassExpiresAt();
+            }
+        }
+
+        if (passId == null || !expiresAt.isAfter(LocalDateTime.now())) {
+            // 쓰지 않고 만료됨: 다시 입장하면 맨 뒤로
+            return new WaitingRoomStatusResponse(ticketManagementId, seq, 0, true, null,
+                    expiresAt == null ? null : toInstant(expiresAt));
+        }
+        // 같은 jti로 다시 서명하므로 응답이 유실되어도 다시 받을 수 있고, 사용은 여전히 한 번뿐
+        Instant passExpiresAt = toInstant(expiresAt);
+        String pass = jwtUtil.createWaitingRoomPass(entry.getUserId(), ticketManagementId, passId, passExpiresAt);
+        return new WaitingRoomStatusResponse(ticketManagementId, seq, 0, true, pass, passExpiresAt);
+    }
+
+    private boolean isPassExpired(WaitingRoomEntry entry) {
+        return entry.getPassExpiresAt() != null && !entry.getPassExpiresAt().isAfter(LocalDateTime.now());
+    }
+
+    private Instant toInstant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * 틱마다 대기실별로 순번을 허가하고 이 노드의 구독자에게 진행 상황 전송, 오래 비어 있던 대기실 정리
+     * 허가 순번은 마지막 순번 + burst 까지만 앞서 나가므로 한산할 때 쌓인 허가가 한꺼번에 몰리지 않음
+     */
+    @Scheduled(fixedRateString = "${ticket.waiting-room.tick-ms:1000}")
+    public void admit() {
+        List<WaitingRoom> rooms;
+        try {
+            rooms = waitingRoomRepository.findAll();
+        } catch (Exception e) {
+            logger.error("대기실 조회 실패", e);
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Set<Long> active = new HashSet<>();
+        for (WaitingRoom room : rooms) {
+            Long ticketManagementId = room.getTicketManagementId();
+            try {
+                if (evictIfIdle(room, now)) {
+                    continue;
+                }
+                active.add(ticketManagementId);
+                advance(room, now);
+                waitingByRoom.put(ticketManagementId, Math.max(0, room.getLastSeq() - room.getAdmittedSeq()));
+                publishProgress(room);
+            } catch (Exception e) {
+                logger.error("대기실 허가 처리 실패 - ticketManagementId={}", ticketManagementId, e);
+            }
+        }
+        waitingByRoom.keySet().retainAll(active);
+        publishedAdmittedSeq.keySet().retainAll(active);
+    }
+
+    // 지난 시간만큼 허가 순번 전진 (다른 인스턴스가 먼저 전진시켰으면 이번 틱은 건너뜀)
+    private void advance(WaitingRoom room, LocalDateTime now) {
+        long elapsedMicros = Duration.between(room.getAdmittedAt(), now).toNanos() / 1_000;
+        long due = (long) (elapsedMicros * admitPerSecond / 1_000_000);
+        if (due < 1) {
+            return;
+        }
+
+        long oldSeq = room.getAdmittedSeq();
+        long cap = room.getLastSeq() + burst;
+        long newSeq;
+        LocalDateTime newAt;
+        if (oldSeq + due >= cap) {
+            // 대기자가 없으면 허가를 쌓아 두지 않음
+            newSeq = Math.max(oldSeq, cap);
+            newAt = now;
+        } else {
+            // 소수점 이하 허가분이 버려지지 않도록 허가한 인원만큼만 기준 시각을 전진
+            newSeq = oldSeq + due;
+            newAt = room.getAdmittedAt().plusNanos((long) (due * 1_000_000_000L / admitPerSecond))
+                    .truncatedTo(ChronoUnit.MICROS);
+        }
+
+        Integer updated = transactionTemplate.execute(status -> waitingRoomRepository.advance(
+                room.getTicketManagementId(), oldSeq, room.getAdmittedAt(), newSeq, newAt));
+        if (updated != null && updated == 1) {
+            long lastSeq = room.getLastSeq();
+            admittedCounter.increment(Math.max(0, Math.min(newSeq, lastSeq) - Math.min(oldSeq, lastSeq)));
+            room.setAdmittedSeq(newSeq);
+            room.setAdmittedAt(newAt);
+        }
+    }
+
+    private boolean evictIfIdle(WaitingRoom room, LocalDateTime now) {
+        if (room.getAdmittedSeq() < room.getLastSeq()
+                || !room.getLastActivityAt().isBefore(now.minus(Duration.ofMillis(idleEvictMs)))) {
+            return false;
+        }
+        Long ticketManagementId = room.getTicketManagementId();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (waitingRoomRepository.deleteIfIdle(ticketManagementId, now.minus(Duration.ofMillis(idleEvictMs))) == 1) {
+                waitingRoomEntryRepository.deleteByRoom(ticketManagementId);
+            }
+        });
+        return true;
+    }
+
+    private void publishProgress(WaitingRoom room) {
+        Long ticketManagementId = room.getTicketManagementId();
+        long lastSeq = room.getLastSeq();
+        long visibleAdmitted = Math.min(room.getAdmittedSeq(), lastSeq);
+        Long published = publishedAdmittedSeq.get(ticketManagementId);
+        if (published != null && published == visibleAdmitted) {
+            return;
+        }
+        String destination = DESTINATION_PREFIX + ticketManagementId;
+        if (!liveSubscriptionRegistry.hasSubscribers(destination)) {
+            return;
+        }
+        broadcastPublisher.send(destination, new WaitingRoomProgressEvent(ticketManagementId, visibleAdmitted, lastSeq));
+        publishedAdmittedSeq.put(ticketManagementId, visibleAdmitted);
+    }
+}
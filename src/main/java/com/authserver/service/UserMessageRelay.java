@@ -0,0 +1,195 @@
+package com.authserver.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 여러 노드에 걸친 사용자 메시지 전달
+ *
+ * 각 노드의 내장 브로커는 자기 노드에 연결된 세션만 알기 때문에, 대기열 이벤트를 소비한 노드에 사용자 세션이 없으면
+ * 알림이 유실됩니다. 중계를 켜면 인코딩한 JSON 바이트를 중계 토픽에 한 번 발행하고, 모든 노드가 노드별 컨슈머 그룹으로
+ * 이를 받아 자기 노드에 해당 사용자 세션이 있을 때만 전송합니다. 발행한 노드는 자기 메시지를 건너뛰고 로컬로 직접 전송합니다.
+ *
+ * 노드별 컨슈머 그룹은 websocket.relay.node-id로 정해지므로 재시작해도 같은 그룹을 이어 쓰며, 재시작마다 그룹이 새로 쌓이지 않습니다.
+ * 중계를 켜면 node-id는 노드마다 다르고 재시작해도 바뀌지 않는 값(예: StatefulSet 파드 이름)이어야 합니다.
+ * 재시작 전에 쌓인 메시지는 max-age-ms보다 오래되었으면 이미 지난 알림이므로 전송하지 않습니다.
+ */
+@Service
+public class UserMessageRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserMessageRelay.class);
+
+    private static final String ORIGIN_HEADER = "relay-origin";
+    private static final String DESTINATION_HEADER = "relay-destination";
+
+    private final BroadcastPublisher broadcastPublisher;
+    private final SimpUserRegistry simpUserRegistry;
+    private final ObjectProvider<KafkaProperties> kafkaProperties;
+    private final ObjectProvider<SslBundles> sslBundles;
+
+    private final Counter forwardedCounter;
+    private final Counter deliveredCounter;
+    private final Counter absentCounter;
+
+    private final String nodeId;
+    private final boolean nodeIdConfigured;
+    private volatile KafkaTemplate<String, byte[]> relayTemplate;
+
+    @Value("${websocket.relay.enabled:false}")
+    private boolean relayEnabled;
+
+    @Value("${websocket.relay.topic:websocket-user-relay-topic}")
+    private String relayTopic;
+
+    // 이보다 오래된 중계 메시지는 전송하지 않음 (재시작 후 밀린 메시지)
+    @Value("${websocket.relay.max-age-ms:30000}")
+    private long maxAgeMs;
+
+    public UserMessageRelay(BroadcastPublisher broadcastPublisher, SimpUserRegistry simpUserRegistry,
+                            ObjectProvider<KafkaProperties> kafkaProperties, ObjectProvider<SslBundles> sslBundles,
+                            MeterRegistry meterRegistry, @Value("${websocket.relay.node-id:}") String nodeId) {
+        this.broadcastPublisher = broadcastPublisher;
+        this.simpUserRegistry = simpUserRegistry;
+        this.kafkaProperties = kafkaProperties;
+        this.sslBundles = sslBundles;
+        this.nodeIdConfigured = StringUtils.hasText(nodeId);
+        this.nodeId = nodeIdConfigured ? nodeId : UUID.randomUUID().toString();
+        this.forwardedCounter = relayCounter(meterRegistry, "forwarded");
+        this.deliveredCounter = relayCounter(meterRegistry, "delivered");
+        this.absentCounter = relayCounter(meterRegistry, "absent");
+    }
+
+    // 노드 ID가 없으면 모든 노드가 같은 컨슈머 그룹이 되어 메시지를 나눠 받으므로 시작하지 않음
+    @PostConstruct
+    void checkNodeId() {
+        if (relayEnabled && !nodeIdConfigured) {
+            throw new IllegalStateException("websocket.relay.enabled=true 이면 websocket.relay.node-id를 노드마다 지정해야 합니다.");
+        }
+    }
+
+    private static Counter relayCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("websocket.relay.messages")
+                .description("노드 간 사용자 메시지 중계 수 (forwarded: 발행, delivered: 수신 후 전송, absent: 수신했지만 세션 없음)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자에게 메시지 전달: 로컬 세션으로 전송하고, 중계가 켜져 있으면 다른 노드의 세션을 위해 중계 토픽에 발행
+     *
+     * @param destination 사용자 목적지 접두사를 뺀 목적지 (예: /sub/queue-status)
+     */
+    public void sendToUser(Long userId, String destination, Object payload) {
+        Message<byte[]> encoded = broadcastPublisher.encode(payload);
+        if (isLocal(userId)) {
+            broadcastPublisher.send(broadcastPublisher.userDestination(userId, destination), encoded);
+        }
+        if (relayEnabled) {
+            forward(userId, destination, encoded.getPayload());
+        }
+    }
+
+    private void forward(Long userId, String destination, byte[] body) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(relayTopic, String.valueOf(userId), body);
+        record.headers().add(ORIGIN_HEADER, nodeId.getBytes(StandardCharsets.UTF_8));
+        record.headers().add(DESTINATION_HEADER, destination.getBytes(StandardCharsets.UTF_8));
+        relayTemplate().send(record).whenComplete((result, ex) -> {
+            if (ex != null) {
+                logger.error("사용자 메시지 중계 발행 실패 - userId={}, destination={}", userId, destination, ex);
+            }
+        });
+        forwardedCounter.increment();
+    }
+
+    /**
+     * 다른 노드가 발행한 사용자 메시지 수신 (노드마다 별도 컨슈머 그룹이므로 모든 노드가 모든 메시지를 받음)
+     */
+    @KafkaListener(topics = "${websocket.relay.topic:websocket-user-relay-topic}",
+            groupId = "main-server-relay-${websocket.relay.node-id:}",
+            containerFactory = "queueEventBatchContainerFactory",
+            autoStartup = "${websocket.relay.enabled:false}")
+    public void consumeRelayedMessages(List<ConsumerRecord<String, byte[]>> records) {
+        long oldest = System.currentTimeMillis() - maxAgeMs;
+        for (ConsumerRecord<String, byte[]> record : records) {
+            String origin = headerValue(record, ORIGIN_HEADER);
+            String destination = headerValue(record, DESTINATION_HEADER);
+            if (nodeId.equals(origin) || destination == null || record.key() == null || record.value() == null
+                    || record.timestamp() < oldest) {
+                continue;
+            }
+            try {
+                Long userId = Long.valueOf(record.key());
+                if (!isLocal(userId)) {
+                    absentCounter.increment();
+                    continue;
+                }
+                broadcastPublisher.send(broadcastPublisher.userDestination(userId, destination),
+                        broadcastPublisher.wrap(record.value()));
+                deliveredCounter.increment();
+            } catch (Exception e) {
+                logger.error("중계 메시지 전송 실패 - partition={}, offset={}, key={}",
+                        record.partition(), record.offset(), record.key(), e);
+            }
+        }
+    }
+
+    // 이 노드에 해당 사용자의 세션이 있는지 여부
+    private boolean isLocal(Long userId) {
+        return simpUserRegistry.getUser(String.valueOf(userId)) != null;
+    }
+
+    private static String headerValue(ConsumerRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header == null || header.value() == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    // 중계 전용 바이트 producer (기본 KafkaTemplate<String, String> 빈은 그대로 둠)
+    private KafkaTemplate<String, byte[]> relayTemplate() {
+        KafkaTemplate<String, byte[]> template = relayTemplate;
+        if (template == null) {
+            synchronized (this) {
+                template = relayTemplate;
+                if (template == null) {
+                    DefaultKafkaProducerFactory<String, byte[]> producerFactory = new DefaultKafkaProducerFactory<>(
+                            kafkaProperties.getObject().buildProducerProperties(sslBundles.getIfAvailable()),
+                            new StringSerializer(), new ByteArraySerializer());
+                    template = new KafkaTemplate<>(producerFactory);
+                    relayTemplate = template;
+                }
+            }
+        }
+        return template;
+    }
+
+    @PreDestroy
+    void closeProducer() {
+        KafkaTemplate<String, byte[]> template = relayTemplate;
+        if (template != null && template.getProducerFactory() instanceof DefaultKafkaProducerFactory<String, byte[]> factory) {
+            factory.destroy();
+        }
+    }
+}
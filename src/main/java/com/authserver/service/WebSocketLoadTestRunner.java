@@ -0,0 +1,350 @@
+package com.authserver.service;
+
+import com.authserver.dto.queue.QueueEvent;
+import com.authserver.dto.websocket.QueueEventBatchMessage;
+import com.authserver.dto.websocket.QueueEventMessage;
+import com.authserver.entity.User;
+import com.authserver.util.JwtUtil;
+import com.authserver.util.TokenBucket;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 오프라인 WebSocket 부하 테스트 (ws-load-test 프로파일 전용)
+ *
+ * 시작 시 N개의 STOMP 세션을 /ws/queue에 연결하여 /sub/rides/minutes, 놀이기구별 /sub/rides/{rideId}/info,
+ * 사용자별 /user/sub/queue-status를 구독한 뒤, 연결된 사용자들에게 대기열 이벤트(READY)를 주입합니다.
+ * 이벤트 주입부터 클라이언트 수신까지의 지연 백분위, 세션당 힙 증가량, 유실 수(미수신 알림과 seq 누락)를 로그로 보고합니다.
+ *
+ * queue-simulator 프로파일과 함께 켜면 인증 서버 단독으로 측정할 수 있습니다.
+ * 세션당 힙 증가량은 대상 서버가 같은 프로세스일 때만 의미가 있으며 클라이언트 측 세션 객체도 포함됩니다.
+ */
+@Component
+@Profile("ws-load-test")
+public class WebSocketLoadTestRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketLoadTestRunner.class);
+    private static final String QUEUE_EVENT_TOPIC = "queue-event-topic";
+
+    private final JwtUtil jwtUtil;
+    private final QueueEventConsumerService queueEventConsumerService;
+    private final ObjectProvider<KafkaTemplate<String, String>> kafkaTemplateProvider;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 측정 결과는 서버 지표와 섞이지 않도록 별도 저장소에 기록
+    private final SimpleMeterRegistry results = new SimpleMeterRegistry();
+    private final Timer deliveryLatency = Timer.builder("loadtest.delivery.latency")
+            .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+            .register(results);
+
+    // 주입한 eventId -> 이벤트 주입 시각 (nanoTime)
+    // 같은 배치에서 같은 사용자/놀이기구의 이전 이벤트는 서버가 마지막 것으로 합치므로 미수신으로 남음
+    private final Map<String, Long> pendingEvents = new ConcurrentHashMap<>();
+
+    private final AtomicLong connected = new AtomicLong();
+    private final AtomicLong connectFailures = new AtomicLong();
+    private final AtomicLong broadcastMessages = new AtomicLong();
+    private final AtomicLong sequenceGaps = new AtomicLong();
+    private final AtomicLong transportErrors = new AtomicLong();
+
+    @Value("${loadtest.ws.url:ws://localhost:${server.port:8080}/ws/queue}")
+    private String url;
+
+    @Value("${loadtest.sessions:1000}")
+    private int sessionCount;
+
+    @Value("${loadtest.ride-count:10}")
+    private int rideCount;
+
+    // 부하 테스트 사용자 ID 시작값 (실제 사용자와 겹치지 않게)
+    @Value("${loadtest.user-id-start:900000000}")
+    private long userIdStart;
+
+    @Value("${loadtest.connect-rate-per-second:500}")
+    private int connectRatePerSecond;
+
+    @Value("${loadtest.max-connecting:200}")
+    private int maxConnecting;
+
+    @Value("${loadtest.events:10000}")
+    private int eventCount;
+
+    @Value("${loadtest.event-rate-per-second:1000}")
+    private int eventRatePerSecond;
+
+    // local: 인증 서버의 이벤트 소비 로직으로 직접 전달, kafka: queue-event-topic으로 발행
+    @Value("${loadtest.event-sink:kafka}")
+    private String eventSink;
+
+    @Value("${loadtest.drain-seconds:10}")
+    private int drainSeconds;
+
+    @Value("${loadtest.heartbeat-ms:10000}")
+    private long heartbeatMs;
+
+    public WebSocketLoadTestRunner(JwtUtil jwtUtil,
+                                   QueueEventConsumerService queueEventConsumerService,
+                                   ObjectProvider<KafkaTemplate<String, String>> kafkaTemplateProvider) {
+        this.jwtUtil = jwtUtil;
+        this.queueEventConsumerService = queueEventConsumerService;
+        this.kafkaTemplateProvider = kafkaTemplateProvider;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!List.of("local", "kafka").contains(eventSink)) {
+            throw new IllegalArgumentException("지원하지 않는 이벤트 발행 방식입니다: " + eventSink);
+        }
+        logger.info("WebSocket 부하 테스트 시작 - url={}, 세션={}, 놀이기구={}, 이벤트={}, 이벤트발행={}",
+                url, sessionCount, rideCount, eventCount, eventSink);
+
+        ThreadPoolTaskScheduler heartbeatScheduler = new ThreadPoolTaskScheduler();
+        heartbeatScheduler.setPoolSize(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        heartbeatScheduler.setThreadNamePrefix("loadtest-heartbeat-");
+        heartbeatScheduler.initialize();
+
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setTaskScheduler(heartbeatScheduler);
+        stompClient.setDefaultHeartbeat(new long[]{heartbeatMs, heartbeatMs});
+
+        List<StompSession> sessions = new ArrayList<>(sessionCount);
+        try {
+            long heapBefore = usedHeapAfterGc();
+            connectAll(stompClient, sessions);
+            long heapAfter = usedHeapAfterGc();
+
+            injectEvents();
+            TimeUnit.SECONDS.sleep(drainSeconds);
+            report(heapBefore, heapAfter);
+        } finally {
+            sessions.forEach(session -> {
+                if (session.isConnected()) {
+                    session.disconnect();
+                }
+            });
+            stompClient.stop();
+            heartbeatScheduler.shutdown();
+        }
+    }
+
+    private void connectAll(WebSocketStompClient stompClient, List<StompSession> sessions) throws InterruptedException {
+        TokenBucket connectRate = new TokenBucket(Math.max(1, connectRatePerSecond / 10), connectRatePerSecond);
+        Semaphore connecting = new Semaphore(maxConnecting);
+        List<StompSession> connectedSessions = Collections.synchronizedList(sessions);
+
+        for (int i = 0; i < sessionCount; i++) {
+            while (!connectRate.tryAcquire()) {
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+            connecting.acquire();
+
+            long userId = userIdStart + i;
+            long rideId = 1 + (i % rideCount);
+            StompHeaders connectHeaders = new StompHeaders();
+            connectHeaders.add("Authorization", "Bearer " + accessToken(userId));
+
+            stompClient.connectAsync(url, new WebSocketHttpHeaders(), connectHeaders, new LoadTestSessionHandler(rideId))
+                    .whenComplete((session, ex) -> {
+                        connecting.release();
+                        if (ex != null) {
+                            connectFailures.incrementAndGet();
+                            logger.debug("부하 테스트 세션 연결 실패 - userId={}", userId, ex);
+                            return;
+                        }
+                        connected.incrementAndGet();
+                        connectedSessions.add(session);
+                    });
+        }
+        // 진행 중인 연결이 모두 끝날 때까지 대기
+        connecting.acquire(maxConnecting);
+        connecting.release(maxConnecting);
+        logger.info("부하 테스트 세션 연결 완료 - 성공={}, 실패={}", connected.get(), connectFailures.get());
+    }
+
+    private String accessToken(long userId) {
+        User user = new User();
+        user.setId(userId);
+        user.setUsername("loadtest-" + userId);
+        return jwtUtil.createAccessToken(user);
+    }
+
+    /**
+     * 연결된 사용자들에게 순서대로 READY 이벤트 주입 (같은 사용자/놀이기구 키가 짧은 간격으로 겹치지 않게 분배)
+     */
+    private void injectEvents() throws Exception {
+        int users = sessionCount;
+        TokenBucket eventRate = new TokenBucket(Math.max(1, eventRatePerSecond / 10), eventRatePerSecond);
+        KafkaTemplate<String, String> kafkaTemplate = "kafka".equals(eventSink) ? kafkaTemplateProvider.getIfAvailable() : null;
+        if ("kafka".equals(eventSink) && kafkaTemplate == null) {
+            throw new IllegalStateException("Kafka 발행을 선택했지만 KafkaTemplate이 없습니다");
+        }
+
+        for (int j = 0; j < eventCount; j++) {
+            while (!eventRate.tryAcquire()) {
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+            long userId = userIdStart + (j % users);
+            long rideId = 1 + ((j / users) % rideCount);
+            String eventId = UUID.randomUUID().toString();
+            QueueEvent event = new QueueEvent(rideId, userId, "GENERAL", "READY", eventId);
+            String json = objectMapper.writeValueAsString(event);
+
+            pendingEvents.put(eventId, System.nanoTime());
+            if (kafkaTemplate != null) {
+                kafkaTemplate.send(QUEUE_EVENT_TOPIC, String.valueOf(userId), json);
+            } else {
+                queueEventConsumerService.consumeQueueEvent(json);
+            }
+        }
+        logger.info("부하 테스트 이벤트 주입 완료 - {}건, {}초 동안 수신 대기", eventCount, drainSeconds);
+    }
+
+    private void report(long heapBefore, long heapAfter) {
+        long sessions = Math.max(1, connected.get());
+        StringBuilder percentiles = new StringBuilder();
+        for (ValueAtPercentile value : deliveryLatency.takeSnapshot().percentileValues()) {
+            percentiles.append(String.format(" p%s=%.1fms", value.percentile() * 100, value.value(TimeUnit.MILLISECONDS)));
+        }
+        logger.info("부하 테스트 결과 - 세션={}, 연결실패={}, 전송오류={}", connected.get(), connectFailures.get(), transportErrors.get());
+        logger.info("알림 지연 - 수신={}, 최대={}ms,{}", deliveryLatency.count(),
+                String.format("%.1f", deliveryLatency.max(TimeUnit.MILLISECONDS)), percentiles);
+        logger.info("유실 - 미수신 알림={}, 브로드캐스트 seq 누락={}, 브로드캐스트 수신={}",
+                pendingEvents.size(), sequenceGaps.get(), broadcastMessages.get());
+        logger.info("세션당 힙 증가량 - {} bytes (전체 {} bytes)", (heapAfter - heapBefore) / sessions, heapAfter - heapBefore);
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private void onQueueStatus(byte[] body) {
+        long now = System.nanoTime();
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            JsonNode events = switch (root.path("messageType").asText()) {
+                case QueueEventBatchMessage.MESSAGE_TYPE -> root.get("events");
+                case QueueEventMessage.MESSAGE_TYPE -> objectMapper.createArrayNode().add(root);
+                // 주기적인 대기열 상태(QUEUE_STATUS)는 주입한 알림이 아님
+                default -> objectMapper.createArrayNode();
+            };
+            for (JsonNode event : events) {
+                String eventId = event.path("eventId").asText(null);
+                Long injectedAt = eventId == null ? null : pendingEvents.remove(eventId);
+                if (injectedAt != null) {
+                    deliveryLatency.record(now - injectedAt, TimeUnit.NANOSECONDS);
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("부하 테스트 알림 파싱 실패", e);
+        }
+    }
+
+    /**
+     * 세션별 구독과 브로드캐스트 seq 누락 검사
+     */
+    private class LoadTestSessionHandler extends StompSessionHandlerAdapter {
+
+        private final long rideId;
+        private final SequenceTracker minutesSeq = new SequenceTracker();
+        private final SequenceTracker rideInfoSeq = new SequenceTracker();
+
+        private LoadTestSessionHandler(long rideId) {
+            this.rideId = rideId;
+        }
+
+        @Override
+        public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+            session.subscribe(LiveSubscriptionRegistry.RIDES_MINUTES_DESTINATION,
+                    bytesHandler(body -> minutesSeq.accept(body, true)));
+            session.subscribe("/sub/rides/" + rideId + "/info", bytesHandler(body -> rideInfoSeq.accept(body, false)));
+            session.subscribe("/user" + LiveSubscriptionRegistry.USER_QUEUE_STATUS_DESTINATION,
+                    bytesHandler(WebSocketLoadTestRunner.this::onQueueStatus));
+        }
+
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            transportErrors.incrementAndGet();
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            transportErrors.incrementAndGet();
+            logger.debug("부하 테스트 세션 전송 오류 - sessionId={}", session.getSessionId(), exception);
+        }
+    }
+
+    private static StompFrameHandler bytesHandler(Consumer<byte[]> consumer) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                consumer.accept((byte[]) payload);
+            }
+        };
+    }
+
+    /**
+     * 변경분 스트림의 seq 연속성 검사 (snapshot 메시지는 기준점만 갱신)
+     */
+    private class SequenceTracker {
+
+        private long lastSeq = -1;
+
+        synchronized void accept(byte[] body, boolean hasSnapshotFlag) {
+            broadcastMessages.incrementAndGet();
+            try {
+                JsonNode root = objectMapper.readTree(body);
+                long seq = root.path("seq").asLong();
+                boolean snapshot = hasSnapshotFlag && root.path("snapshot").asBoolean();
+                if (lastSeq >= 0 && !snapshot && seq > lastSeq + 1) {
+                    sequenceGaps.addAndGet(seq - lastSeq - 1);
+                }
+                lastSeq = Math.max(lastSeq, seq);
+            } catch (Exception e) {
+                logger.debug("부하 테스트 브로드캐스트 파싱 실패", e);
+            }
+        }
+    }
+}
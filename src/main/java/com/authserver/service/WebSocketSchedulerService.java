@@ -1,29 +1,42 @@
 package com.authserver.service;
 
+import com.authserver.dto.queue.RideQueueInfoDto;
 import com.authserver.dto.queue.RideQueueInfoListResponse;
 import com.authserver.dto.queue.QueueStatusListResponse;
-import com.authserver.dto.websocket.AllRidesMinutesEvent;
-import com.authserver.dto.websocket.RideDetailQueueInfo;
 import com.authserver.dto.websocket.UserQueueStatusEvent;
-import com.authserver.entity.Ride;
-import com.authserver.entity.RideUsage;
-import com.authserver.entity.RideUsageStatus;
-import com.authserver.repository.RideRepository;
-import com.authserver.repository.RideUsageRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
-
-
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * WebSocket을 통해 주기적으로 대기열 정보를 브로드캐스트하는 서비스
+ *
+ * 놀이기구 대기 시간은 Kafka 이벤트로 갱신되는 RideWaitTimeService가 주 경로이며,
+ * 여기서는 느린 주기로 대기열 서버를 조회하여 테이블을 보정합니다.
+ * 모든 작업은 현재 구독자가 있는 목적지에 대해서만 조회/전송합니다.
+ *
+ * 작업은 전용 스케줄러(BroadcastJobScheduler)에서 겹치지 않게 실행되며, 값이 바뀌는 동안에는 최소 주기까지 자주,
+ * 바뀌지 않으면 최대 주기까지 드물게 조회합니다.
+ *
+ * 여러 인스턴스로 운영하면 놀이기구 대기 시간 보정 조회는 리더 인스턴스만 수행하고, 조회 결과를 대기 시간 토픽으로 발행하여
+ * 다른 인스턴스도 같은 테이블을 갖게 합니다. 사용자 대기열 상태는 각 인스턴스가 자기 세션의 구독자만 조회하므로 모두 수행합니다.
  */
 @Service
 @RequiredArgsConstructor
@@ -32,112 +45,178 @@ public class WebSocketSchedulerService {
     private static final Logger logger = LoggerFactory.getLogger(WebSocketSchedulerService.class);
 
     private final QueueClientService queueClientService;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final RideRepository rideRepository;
-    private final RideUsageRepository rideUsageRepository;
+    private final BroadcastPublisher broadcastPublisher;
+    private final RideCatalog rideCatalog;
+    private final ActiveWaiterIndex activeWaiterIndex;
+    private final RideWaitTimeService rideWaitTimeService;
+    private final LiveSubscriptionRegistry liveSubscriptionRegistry;
+    private final BroadcastJobScheduler broadcastJobScheduler;
+    private final LeaderElectionService leaderElectionService;
+    private final ObjectProvider<KafkaTemplate<String, String>> kafkaTemplateProvider;
+    private final ObjectMapper objectMapper;
+
+    @Value("${queue.wait-time.topic:ride-wait-time-topic}")
+    private String waitTimeTopic;
+
+    // 사용자별 마지막으로 전송한 대기열 상태 (같은 상태는 다시 보내지 않음, 사용자가 다시 구독하면 지움)
+    private final Map<Long, UserQueueStatusEvent> lastUserStatuses = new ConcurrentHashMap<>();
+
+    @Value("${websocket.wait-time.reconcile-min-interval-ms:60000}")
+    private long reconcileMinIntervalMs;
+
+    @Value("${websocket.wait-time.reconcile-interval-ms:300000}")
+    private long reconcileMaxIntervalMs;
+
+    @Value("${websocket.queue-status.min-interval-ms:15000}")
+    private long queueStatusMinIntervalMs;
+
+    @Value("${websocket.queue-status.max-interval-ms:60000}")
+    private long queueStatusMaxIntervalMs;
+
+    @PostConstruct
+    void registerJobs() {
+        broadcastJobScheduler.register("rides-minutes", Duration.ofMillis(reconcileMinIntervalMs),
+                Duration.ofMillis(reconcileMaxIntervalMs), this::fetchAndBroadcastAllRidesMinutes);
+        broadcastJobScheduler.register("ride-detail", Duration.ofMillis(reconcileMinIntervalMs),
+                Duration.ofMillis(reconcileMaxIntervalMs), this::scheduledRideDetailBroadcast);
+        broadcastJobScheduler.register("user-queue-status", Duration.ofMillis(queueStatusMinIntervalMs),
+                Duration.ofMillis(queueStatusMaxIntervalMs), this::scheduledUserQueueStatusBroadcast);
+    }
 
     /**
-     * 1분마다 전체 놀이기구의 대기 시간을 조회하여 브로드캐스트
+     * 전체 놀이기구의 대기 시간을 조회하여 대기 시간 테이블을 보정하고 변경분만 브로드캐스트
+     * 평소에는 Kafka 대기 시간 이벤트로 변경 즉시 전송되며, 이 작업은 이벤트 유실에 대비한 느린 보정 주기로만 동작
      * 목적지: /sub/rides/minutes
+     *
+     * @return 대기 시간이 바뀐 놀이기구가 있었으면 true
      */
-    @Scheduled(fixedRate = 60000)
-    public void fetchAndBroadcastAllRidesMinutes() {
+    public boolean fetchAndBroadcastAllRidesMinutes() {
+        if (!leaderElectionService.isLeader()) {
+            return false;
+        }
+        // 여러 인스턴스로 운영 중이면 다른 인스턴스의 구독자를 위해 로컬 구독자가 없어도 조회
+        if (!leaderElectionService.isClustered() && !rideWaitTimeService.hasMinutesSubscribers()) {
+            logger.debug("전체 놀이기구 대기 시간 구독자 없음");
+            return false;
+        }
+        boolean changed = false;
         try {
             logger.debug("전체 놀이기구 대기 시간 조회 시작");
 
             RideQueueInfoListResponse response = queueClientService.getAllRidesQueueInfo();
 
             if (response != null && response.rides() != null) {
-                List<AllRidesMinutesEvent.RideMinutes> rides = response.rides().stream()
-                        .map(ride -> {
-                            // waitTimes에서 최소 대기 시간 추출 (PREMIUM이 일반적으로 더 짧음)
-                            int minWaitMinutes = ride.waitTimes().stream()
-                                    .mapToInt(wt -> wt.estimatedWaitMinutes())
-                                    .min()
-                                    .orElse(0);
-                            return new AllRidesMinutesEvent.RideMinutes(
-                                    ride.rideId(),
-                                    minWaitMinutes
-                            );
-                        })
-                        .collect(Collectors.toList());
-
-                AllRidesMinutesEvent event = new AllRidesMinutesEvent(rides);
-
-                messagingTemplate.convertAndSend("/sub/rides/minutes", event);
+                for (RideQueueInfoDto info : response.rides()) {
+                    changed |= rideWaitTimeService.update(info);
+                    shareWithFollowers(info);
+                }
+                rideWaitTimeService.publishMinutes();
 
-                logger.info("전체 놀이기구 대기 시간 브로드캐스트 완료 - 놀이기구 수={}", rides.size());
+                logger.info("전체 놀이기구 대기 시간 보정 완료 - 놀이기구 수={}", response.rides().size());
             }
         } catch (Exception e) {
             logger.error("전체 놀이기구 대기 시간 브로드캐스트 실패", e);
         }
+        return changed;
     }
 
     /**
-     * 특정 놀이기구의 상세 대기열 정보를 브로드캐스트
+     * 특정 놀이기구의 상세 대기열 정보를 조회하여 테이블을 보정 (값이 바뀐 경우에만 브로드캐스트)
      * 목적지: /sub/rides/{rideId}/info
      *
      * @param rideId 놀이기구 ID
+     * @return 값이 바뀌었으면 true
      */
-    public void broadcastRideDetailInfo(Long rideId) {
+    public boolean broadcastRideDetailInfo(Long rideId) {
         try {
             logger.debug("놀이기구 상세 대기열 정보 조회 시작 - rideId={}", rideId);
 
-            com.authserver.dto.queue.RideQueueInfoDto response = queueClientService.getRideQueueInfo(rideId);
+            RideQueueInfoDto response = queueClientService.getRideQueueInfo(rideId);
+            shareWithFollowers(response);
 
-            if (response != null && response.waitTimes() != null) {
-                List<RideDetailQueueInfo.WaitTime> waitTimes = response.waitTimes().stream()
-                        .map(wt -> new RideDetailQueueInfo.WaitTime(
-                                wt.ticketType(),
-                                wt.waitingCount(),
-                                wt.estimatedWaitMinutes()
-                        ))
-                        .collect(Collectors.toList());
-
-                RideDetailQueueInfo event = new RideDetailQueueInfo(rideId, waitTimes);
-
-                messagingTemplate.convertAndSend("/sub/rides/" + rideId + "/info", event);
-
-                logger.debug("놀이기구 상세 대기열 정보 브로드캐스트 완료 - rideId={}", rideId);
-            }
+            return rideWaitTimeService.update(response);
         } catch (Exception e) {
             logger.error("놀이기구 상세 대기열 정보 브로드캐스트 실패 - rideId={}", rideId, e);
+            return false;
         }
     }
 
     /**
-     * 1분마다 모든 활성 놀이기구의 상세 대기열 정보를 각 채널로 브로드캐스트
+     * 구독 중인 활성 놀이기구의 상세 대기열 정보를 보정 주기마다 조회하여 바뀐 것만 각 채널로 브로드캐스트
+     *
+     * @return 값이 바뀐 놀이기구가 있었으면 true
      */
-    @Scheduled(fixedRate = 60000)
-    public void scheduledRideDetailBroadcast() {
+    public boolean scheduledRideDetailBroadcast() {
+        if (!leaderElectionService.isLeader()) {
+            return false;
+        }
         try {
             logger.debug("모든 활성 놀이기구 상세 정보 브로드캐스트 시작");
 
-            // 활성화된 모든 놀이기구 조회
-            List<Ride> activeRides = rideRepository.findByIsActive(true);
+            // 활성화된 놀이기구 중 구독자가 있는 것만 조회 (여러 인스턴스로 운영 중이면 전체)
+            Set<Long> subscribedRideIds = liveSubscriptionRegistry.getSubscribedRideIds();
+            List<Long> activeRideIds = rideCatalog.getActiveRideIds().stream()
+                    .filter(rideId -> leaderElectionService.isClustered() || subscribedRideIds.contains(rideId))
+                    .toList();
 
-            if (activeRides.isEmpty()) {
-                logger.debug("활성화된 놀이기구 없음");
-                return;
+            if (activeRideIds.isEmpty()) {
+                logger.debug("구독 중인 활성 놀이기구 없음");
+                return false;
             }
 
-            logger.info("활성 놀이기구 상세 정보 브로드캐스트 - 놀이기구 수={}", activeRides.size());
+            logger.info("활성 놀이기구 상세 정보 보정 - 놀이기구 수={}", activeRideIds.size());
 
             // 각 놀이기구에 대해 상세 정보 브로드캐스트
-            activeRides.forEach(ride -> broadcastRideDetailInfo(ride.getRideId()));
-
+            boolean changed = false;
+            for (Long rideId : activeRideIds) {
+                changed |= broadcastRideDetailInfo(rideId);
+            }
+            return changed;
         } catch (Exception e) {
             logger.error("활성 놀이기구 상세 정보 브로드캐스트 실패", e);
+            return false;
+        }
+    }
+
+    /**
+     * 리더가 조회한 대기열 정보를 대기 시간 토픽으로 발행 (모든 인스턴스가 각자의 컨슈머 그룹으로 받아 테이블에 반영)
+     */
+    private void shareWithFollowers(RideQueueInfoDto info) {
+        if (info == null || !leaderElectionService.isClustered()) {
+            return;
+        }
+        KafkaTemplate<String, String> kafkaTemplate = kafkaTemplateProvider.getIfAvailable();
+        if (kafkaTemplate == null) {
+            return;
+        }
+        try {
+            kafkaTemplate.send(waitTimeTopic, String.valueOf(info.rideId()), objectMapper.writeValueAsString(info));
+        } catch (Exception e) {
+            logger.error("대기 시간 보정 결과 발행 실패 - rideId={}", info.rideId(), e);
         }
     }
 
     /**
-     * 특정 사용자의 모든 대기열 상태를 1분마다 브로드캐스트
-     * 목적지: /sub/user/{userId}/queue-status
+     * 대기열 상태 채널을 (재연결 등으로) 새로 구독하면 직전 전송 기록을 지워 다음 주기에 같은 상태라도 다시 보냄
+     * 새 세션은 이전 세션이 받은 상태를 받지 못했으므로 중복 제거 대상이 아님
+     */
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        String destination = StompHeaderAccessor.wrap(event.getMessage()).getDestination();
+        if (LiveSubscriptionRegistry.USER_QUEUE_STATUS_SUBSCRIPTION.equals(destination) && event.getUser() != null) {
+            // StompUserPrincipal 이름은 사용자 ID
+            lastUserStatuses.remove(Long.valueOf(event.getUser().getName()));
+        }
+    }
+
+    /**
+     * 특정 사용자의 모든 대기열 상태를 브로드캐스트 (직전에 보낸 상태와 같으면 보내지 않음)
+     * 목적지: /user/sub/queue-status (해당 사용자의 세션에만 전달)
      *
      * @param userId 사용자 ID
+     * @return 상태가 바뀌어 전송했으면 true
      */
-    public void broadcastUserQueueStatus(Long userId) {
+    public boolean broadcastUserQueueStatus(Long userId) {
         try {
             logger.debug("사용자 대기열 상태 조회 시작 - userId={}", userId);
 
@@ -149,15 +228,10 @@ public class WebSocketSchedulerService {
                             // rideName이 null인 경우 rideId로 조회
                             String rideName = item.rideName();
                             if (rideName == null || rideName.isEmpty()) {
-                                try {
-                                    Ride ride = rideRepository.findById(item.rideId())
-                                            .orElseThrow(() -> new IllegalArgumentException("놀이기구를 찾을 수 없습니다."));
-                                    rideName = ride.getName();
-                                    logger.debug("놀이기구 이름 조회 완료 - rideId={}, rideName={}", item.rideId(), rideName);
-                                } catch (Exception e) {
-                                    logger.warn("놀이기구 이름 조회 실패 - rideId={}", item.rideId(), e);
-                                    rideName = "Unknown";
-                                }
+                                rideName = rideCatalog.findName(item.rideId()).orElseGet(() -> {
+                                    logger.warn("놀이기구 이름 조회 실패 - rideId={}", item.rideId());
+                                    return "Unknown";
+                                });
                             }
                             
                             return new UserQueueStatusEvent.QueueItem(
@@ -171,48 +245,65 @@ public class WebSocketSchedulerService {
                         .collect(Collectors.toList());
 
                 UserQueueStatusEvent event = new UserQueueStatusEvent(userId, items);
+                if (Objects.equals(lastUserStatuses.get(userId), event)) {
+                    return false;
+                }
 
-                messagingTemplate.convertAndSend("/sub/user/" + userId + "/queue-status", event);
+                broadcastPublisher.sendToUser(userId, LiveSubscriptionRegistry.USER_QUEUE_STATUS_DESTINATION, event);
+                // 전송에 성공한 상태만 기록 (실패하면 다음 주기에 같은 상태라도 다시 보냄)
+                lastUserStatuses.put(userId, event);
 
                 logger.debug("사용자 대기열 상태 브로드캐스트 완료 - userId={}, 대기열 수={}", userId, items.size());
+                return true;
             }
         } catch (Exception e) {
             logger.error("사용자 대기열 상태 브로드캐스트 실패 - userId={}", userId, e);
         }
+        return false;
     }
 
     /**
-     * 1분마다 대기 중인 사용자들의 대기열 상태를 브로드캐스트
-     * WAITED 상태인 사용자들을 DB에서 조회하고, 각 사용자별로 대기열 서버에 요청하여 전송
+     * 대기 중인 사용자들의 대기열 상태를 주기적으로 브로드캐스트
+     * WAITED 상태이면서 대기열 상태 채널을 구독 중인 사용자만 대기열 서버에 요청하여 전송
+     *
+     * @return 상태가 바뀐 사용자가 있었으면 true
      */
-    @Scheduled(fixedRate = 60000)
-    public void scheduledUserQueueStatusBroadcast() {
+    public boolean scheduledUserQueueStatusBroadcast() {
         try {
             logger.debug("사용자 대기열 상태 스케줄러 시작");
 
-            // WAITED 상태인 모든 RideUsage 조회
-            List<RideUsage> waitedUsages = rideUsageRepository.findByStatus(RideUsageStatus.WAITED);
-
-            if (waitedUsages.isEmpty()) {
-                logger.debug("대기 중인 사용자 없음");
-                return;
+            Set<Long> subscribedUserIds = liveSubscriptionRegistry.getSubscribedUserIds();
+            lastUserStatuses.keySet().retainAll(subscribedUserIds);
+            if (subscribedUserIds.isEmpty()) {
+                logger.debug("대기열 상태 구독자 없음");
+                return false;
             }
 
-            // 고유한 userId 목록 추출
-            List<Long> uniqueUserIds = waitedUsages.stream()
-                    .map(RideUsage::getUserId)
-                    .distinct()
+            // 구독 중이면서 대기 중인 사용자 (대기 사용자 색인에서 조회)
+            List<Long> uniqueUserIds = subscribedUserIds.stream()
+                    .filter(activeWaiterIndex::isWaiting)
                     .collect(Collectors.toList());
 
+            if (uniqueUserIds.isEmpty()) {
+                logger.debug("대기 중인 사용자 없음");
+                return false;
+            }
+
             logger.info("대기 중인 사용자 대기열 상태 브로드캐스트 시작 - 사용자 수={}", uniqueUserIds.size());
 
             // 각 사용자별로 대기열 상태 조회 및 브로드캐스트
-            uniqueUserIds.forEach(this::broadcastUserQueueStatus);
-
-            logger.info("대기 중인 사용자 대기열 상태 브로드캐스트 완료 - 사용자 수={}", uniqueUserIds.size());
+            int changedUsers = 0;
+            for (Long userId : uniqueUserIds) {
+                if (broadcastUserQueueStatus(userId)) {
+                    changedUsers++;
+                }
+            }
 
+            logger.info("대기 중인 사용자 대기열 상태 브로드캐스트 완료 - 사용자 수={}, 변경={}", uniqueUserIds.size(), changedUsers);
+            return changedUsers > 0;
         } catch (Exception e) {
             logger.error("사용자 대기열 상태 브로드캐스트 실패", e);
+            return false;
         }
     }
 }
@@ -0,0 +1,40 @@
+package com.authserver.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * JSON으로 인코딩된 WebSocket payload의 CBOR 변환 결과를 한 번만 계산해 공유하는 홀더
+ *
+ * 브로드캐스트 메시지 헤더에 실려 구독 세션별 메시지로 복사되므로,
+ * CBOR를 선택한 세션이 여럿이어도 변환은 payload당 한 번만 일어납니다.
+ */
+public final class CborPayload {
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final CBORMapper CBOR_MAPPER = new CBORMapper();
+
+    private final byte[] json;
+    private volatile byte[] cbor;
+
+    public CborPayload(byte[] json) {
+        this.json = json;
+    }
+
+    public byte[] bytes() {
+        byte[] result = cbor;
+        if (result == null) {
+            result = transcode(json);
+            cbor = result;
+        }
+        return result;
+    }
+
+    private static byte[] transcode(byte[] json) {
+        try {
+            return CBOR_MAPPER.writeValueAsBytes(JSON_MAPPER.readTree(json));
+        } catch (Exception e) {
+            throw new IllegalStateException("CBOR 변환 실패", e);
+        }
+    }
+}
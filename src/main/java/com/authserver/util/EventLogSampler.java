@@ -0,0 +1,72 @@
+package com.authserver.util;
+
+import org.slf4j.Logger;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.slf4j.spi.NOPLoggingEventBuilder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 구조화 이벤트 로그 샘플러
+ *
+ * 요청 경로의 로그를 문자열 포맷 대신 key-value 필드로 남기고, 카테고리별로 N건 중 1건만 기록합니다.
+ * 샘플링에서 제외되면 NOP 빌더를 반환하므로 필드 추가/포맷 비용이 들지 않습니다.
+ *
+ * 사용 예: eventLog.info(logger, Category.QUEUE_STATUS).addKeyValue("userId", userId).log("대기열 상태 조회");
+ * 샘플링 간격 설정: logging.event-sampling.queue-status=100 (1이면 전부 기록, 0이면 기록 안 함)
+ */
+@Component
+public class EventLogSampler {
+
+    public enum Category {
+        QUEUE_COMMAND("queue-command", 1),   // 대기열 등록/취소/완료
+        QUEUE_STATUS("queue-status", 100),   // 대기열 상태/대기시간 조회
+        QUEUE_EVENT("queue-event", 10),      // Kafka 탑승 알림
+        TICKET_QUERY("ticket-query", 10);    // 티켓 조회
+
+        private final String key;
+        private final int defaultInterval;
+
+        Category(String key, int defaultInterval) {
+            this.key = key;
+            this.defaultInterval = defaultInterval;
+        }
+    }
+
+    private final int[] intervals = new int[Category.values().length];
+    private final AtomicLongArray counters = new AtomicLongArray(Category.values().length);
+
+    public EventLogSampler(Environment environment) {
+        for (Category category : Category.values()) {
+            intervals[category.ordinal()] = environment.getProperty(
+                    "logging.event-sampling." + category.key, Integer.class, category.defaultInterval);
+        }
+    }
+
+    /**
+     * 이번 이벤트를 기록할지 여부
+     */
+    public boolean sample(Category category) {
+        int interval = intervals[category.ordinal()];
+        if (interval <= 1) {
+            return interval == 1;
+        }
+        return counters.getAndIncrement(category.ordinal()) % interval == 0;
+    }
+
+    public LoggingEventBuilder info(Logger logger, Category category) {
+        if (!logger.isInfoEnabled() || !sample(category)) {
+            return NOPLoggingEventBuilder.singleton();
+        }
+        return logger.atInfo();
+    }
+
+    public LoggingEventBuilder debug(Logger logger, Category category) {
+        if (!logger.isDebugEnabled() || !sample(category)) {
+            return NOPLoggingEventBuilder.singleton();
+        }
+        return logger.atDebug();
+    }
+}
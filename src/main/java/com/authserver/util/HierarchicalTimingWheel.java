@@ -0,0 +1,177 @@
+package com.authserver.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 계층형 타이밍 휠
+ *
+ * 만료 시각을 tick 단위 칸에 넣고 advance가 지난 칸만 비우므로, 항목 수와 관계없이 예약/취소가 O(1)이고 만료 확인은 칸 수에 비례합니다.
+ * 1단 휠이 담을 수 있는 범위(tick x wheelSize)를 넘는 항목은 tick이 wheelSize배인 상위 휠에 넣었다가,
+ * 시간이 그 칸에 도달하면 하위 휠로 다시 나눠 넣습니다. 상위 휠은 필요할 때 만들어집니다.
+ * 취소는 표시만 하고 해당 칸을 비울 때 버리며, 만료는 최대 tick만큼 늦게 감지됩니다.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+
+    // levels.get(i)의 칸 하나는 tickMillis * wheelSize^i 밀리초
+    private final List<ArrayDeque<Timeout<T>>[]> levels = new ArrayList<>();
+
+    // 이 시각 이전 만료분은 모두 처리됨 (tickMillis의 배수)
+    private long currentTime;
+
+    // 예약 시점에 이미 만료 시각이 지난 항목
+    private final List<Timeout<T>> overdue = new ArrayList<>();
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("잘못된 타이밍 휠 설정입니다.");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis - startMillis % tickMillis;
+    }
+
+    /**
+     * 예약된 항목 (cancel 후에는 만료되지 않음)
+     */
+    public static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineMillis;
+        private volatile boolean cancelled;
+
+        private Timeout(T item, long deadlineMillis) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        public long deadlineMillis() {
+            return deadlineMillis;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    /**
+     * deadlineMillis에 만료되도록 예약 (이미 지난 시각이면 다음 advance에서 만료)
+     */
+    public synchronized Timeout<T> schedule(T item, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(item, deadlineMillis);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * nowMillis까지 시간을 진행하고 만료된 항목 반환 (취소된 항목 제외)
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        drain(overdue, expired);
+        while (currentTime + tickMillis <= nowMillis) {
+            currentTime += tickMillis;
+            // 방금 지난 칸: [currentTime - tick, currentTime)
+            ArrayDeque<Timeout<T>> bucket = bucket(0, currentTime - tickMillis);
+            if (bucket != null) {
+                drain(bucket, expired);
+            }
+            cascade();
+        }
+        return expired;
+    }
+
+    /**
+     * 예약되어 있는 항목 수 (취소되었지만 아직 칸에서 버려지지 않은 항목 포함)
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    // 상위 휠 칸의 시작 시각에 도달하면 그 칸의 항목을 하위 휠로 다시 배치 (위에서 아래로)
+    private void cascade() {
+        for (int level = levels.size() - 1; level >= 1; level--) {
+            long levelTick = levelTick(level);
+            if (currentTime % levelTick != 0) {
+                continue;
+            }
+            ArrayDeque<Timeout<T>> bucket = bucket(level, currentTime);
+            if (bucket == null || bucket.isEmpty()) {
+                continue;
+            }
+            List<Timeout<T>> moved = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Timeout<T> timeout : moved) {
+                if (timeout.cancelled) {
+                    size--;
+                } else {
+                    place(timeout);
+                }
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long deadline = timeout.deadlineMillis;
+        if (deadline < currentTime) {
+            overdue.add(timeout);
+            return;
+        }
+        for (int level = 0; ; level++) {
+            long levelTick = levelTick(level);
+            long levelStart = currentTime - currentTime % levelTick;
+            if (deadline < levelStart + levelTick * wheelSize) {
+                ensureLevel(level);
+                bucket(level, deadline).add(timeout);
+                return;
+            }
+        }
+    }
+
+    private void drain(Collection<Timeout<T>> bucket, List<T> expired) {
+        for (Timeout<T> timeout : bucket) {
+            size--;
+            if (!timeout.cancelled) {
+                expired.add(timeout.item);
+            }
+        }
+        bucket.clear();
+    }
+
+    private ArrayDeque<Timeout<T>> bucket(int level, long timeMillis) {
+        if (level >= levels.size()) {
+            return null;
+        }
+        return levels.get(level)[(int) ((timeMillis / levelTick(level)) % wheelSize)];
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void ensureLevel(int level) {
+        while (levels.size() <= level) {
+            ArrayDeque<Timeout<T>>[] buckets = new ArrayDeque[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+            levels.add(buckets);
+        }
+    }
+
+    private long levelTick(int level) {
+        long levelTick = tickMillis;
+        for (int i = 0; i < level; i++) {
+            levelTick = Math.multiplyExact(levelTick, wheelSize);
+        }
+        return levelTick;
+    }
+}
@@ -16,6 +16,7 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 public class JwtUtil {
@@ -112,4 +113,41 @@ public class JwtUtil {
             throw new InvalidTokenException("Failed to extract token type");
         }
     }
+
+    /**
+     * 티켓 대기실 통행증 생성 (사용자/티켓 재고 단위, 짧은 유효 시간, 1회용 jti 포함)
+     */
+    public String createWaitingRoomPass(Long userId, Long ticketManagementId, String passId, Instant expiresAt) {
+        Algorithm algorithm = Algorithm.HMAC256(secret);
+
+        return JWT.create()
+                .withIssuer(issuer)
+                .withJWTId(passId)
+                .withIssuedAt(Date.from(Instant.now()))
+                .withExpiresAt(Date.from(expiresAt))
+                .withSubject(String.valueOf(userId))
+                .withClaim("ticketManagementId", ticketManagementId)
+                .withClaim("type", "waiting-room-pass")
+                .sign(algorithm);
+    }
+
+    /**
+     * 티켓 대기실 통행증 검증 (서명/만료와 사용자, 티켓 재고 일치 여부 확인 후 jti 반환)
+     * 사용 여부는 호출자가 jti로 확인합니다.
+     */
+    public Optional<String> verifyWaitingRoomPass(String pass, Long userId, Long ticketManagementId) {
+        try {
+            Algorithm algorithm = Algorithm.HMAC256(secret);
+            DecodedJWT jwt = JWT.require(algorithm)
+                    .withIssuer(issuer)
+                    .withSubject(String.valueOf(userId))
+                    .withClaim("type", "waiting-room-pass")
+                    .withClaim("ticketManagementId", ticketManagementId)
+                    .build()
+                    .verify(pass);
+            return Optional.ofNullable(jwt.getId());
+        } catch (JWTVerificationException e) {
+            return Optional.empty();
+        }
+    }
 }
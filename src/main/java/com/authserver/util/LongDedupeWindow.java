@@ -0,0 +1,118 @@
+package com.authserver.util;
+
+/**
+ * 최근 본 64비트 지문을 기억하는 고정 크기 중복 판별 윈도우
+ *
+ * 삽입 순서를 기록하는 링 버퍼와 개방 주소법(선형 탐사) long 해시 집합으로 구성되어
+ * 박싱 없이 상수 시간에 조회/삽입합니다. 용량을 넘거나 보존 시간이 지난 지문은 오래된 순으로 제거됩니다.
+ */
+public final class LongDedupeWindow {
+
+    private static final long EMPTY = 0L;
+    // 지문 0은 빈 슬롯 표시와 겹치므로 다른 값으로 치환
+    private static final long ZERO_SUBSTITUTE = 0x9e3779b97f4a7c15L;
+
+    private final long retentionMillis;
+
+    // 삽입 순서 (오래된 것부터 head)
+    private final long[] ring;
+    private final long[] ringTimes;
+    private int head;
+    private int size;
+
+    // 해시 집합 (용량의 2배 이상인 2의 거듭제곱, 부하율 50% 이하)
+    private final long[] keys;
+    private final int mask;
+
+    public LongDedupeWindow(int capacity, long retentionMillis) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity는 1 이상이어야 합니다: " + capacity);
+        }
+        this.retentionMillis = retentionMillis;
+        this.ring = new long[capacity];
+        this.ringTimes = new long[capacity];
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        this.keys = new long[tableSize];
+        this.mask = tableSize - 1;
+    }
+
+    /**
+     * 지문 기록
+     *
+     * @return 처음 본 지문이면 true, 윈도우 안에 이미 있으면 false
+     */
+    public synchronized boolean add(long fingerprint, long nowMillis) {
+        long key = fingerprint == EMPTY ? ZERO_SUBSTITUTE : fingerprint;
+        expire(nowMillis);
+
+        if (keys[slotOf(key)] == key) {
+            return false;
+        }
+        if (size == ring.length) {
+            evictOldest();
+        }
+
+        int tail = (head + size) % ring.length;
+        ring[tail] = key;
+        ringTimes[tail] = nowMillis;
+        size++;
+        keys[slotOf(key)] = key;
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void expire(long nowMillis) {
+        while (size > 0 && nowMillis - ringTimes[head] > retentionMillis) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        remove(ring[head]);
+        head = (head + 1) % ring.length;
+        size--;
+    }
+
+    private int slotOf(long key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // 선형 탐사 삭제: 뒤따르는 항목을 당겨 탐사 경로를 유지 (tombstone 없음)
+    private void remove(long key) {
+        int hole = slotOf(key);
+        if (keys[hole] == EMPTY) {
+            return;
+        }
+        keys[hole] = EMPTY;
+
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long candidate = keys[slot];
+            if (candidate == EMPTY) {
+                return;
+            }
+            int home = hash(candidate) & mask;
+            boolean movable = hole <= slot
+                    ? home <= hole || home > slot
+                    : home <= hole && home > slot;
+            if (movable) {
+                keys[hole] = candidate;
+                keys[slot] = EMPTY;
+                hole = slot;
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9e3779b97f4a7c15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,102 @@
+package com.authserver.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 여러 칸으로 나눈 재고 카운터
+ *
+ * 재고를 칸마다 나눠 두고 요청마다 무작위 칸부터 CAS로 차감하여, 한 변수에 모든 스레드가 몰리지 않게 합니다.
+ * 칸 하나가 비면 다음 칸에서 가져오며, 전체 합이 모자라면 가져온 만큼 되돌리고 실패합니다.
+ */
+public final class StripedStockCounter {
+
+    // 칸끼리 같은 캐시 라인을 쓰지 않도록 int 16개(64바이트) 간격으로 배치
+    private static final int PADDING = 16;
+
+    private final AtomicIntegerArray cells;
+    private final int stripes;
+
+    public StripedStockCounter(int stock, int stripes) {
+        if (stock < 0 || stripes <= 0) {
+            throw new IllegalArgumentException("stock은 0 이상, stripes는 0보다 커야 합니다");
+        }
+        this.stripes = stripes;
+        this.cells = new AtomicIntegerArray(stripes * PADDING);
+        for (int i = 0; i < stripes; i++) {
+            cells.set(i * PADDING, stock / stripes + (i < stock % stripes ? 1 : 0));
+        }
+    }
+
+    /**
+     * 재고 quantity개 차감
+     *
+     * @return 차감했으면 true, 전체 재고가 모자라면 false (차감 없음)
+     */
+    public boolean tryAcquire(int quantity) {
+        int start = ThreadLocalRandom.current().nextInt(stripes);
+        int taken = 0;
+        for (int i = 0; i < stripes && taken < quantity; i++) {
+            int index = ((start + i) % stripes) * PADDING;
+            while (taken < quantity) {
+                int current = cells.get(index);
+                if (current == 0) {
+                    break;
+                }
+                int take = Math.min(current, quantity - taken);
+                if (cells.compareAndSet(index, current, current - take)) {
+                    taken += take;
+                }
+            }
+        }
+        if (taken == quantity) {
+            return true;
+        }
+        if (taken > 0) {
+            cells.addAndGet(start * PADDING, taken);
+        }
+        return false;
+    }
+
+    /**
+     * 차감했던 재고 반환
+     */
+    public void release(int quantity) {
+        cells.addAndGet(ThreadLocalRandom.current().nextInt(stripes) * PADDING, quantity);
+    }
+
+    /**
+     * 재고를 delta만큼 보정 (음수면 남은 재고 안에서만 차감, 0 아래로 내려가지 않음)
+     */
+    public void adjust(int delta) {
+        if (delta > 0) {
+            release(delta);
+            return;
+        }
+        int remaining = -delta;
+        for (int i = 0; i < stripes && remaining > 0; i++) {
+            int index = i * PADDING;
+            while (remaining > 0) {
+                int current = cells.get(index);
+                if (current == 0) {
+                    break;
+                }
+                int take = Math.min(current, remaining);
+                if (cells.compareAndSet(index, current, current - take)) {
+                    remaining -= take;
+                }
+            }
+        }
+    }
+
+    /**
+     * 현재 남은 재고 합계 (동시 변경 중에는 근사값)
+     */
+    public int available() {
+        int sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+}
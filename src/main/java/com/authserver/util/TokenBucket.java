@@ -0,0 +1,39 @@
+package com.authserver.util;
+
+/**
+ * 토큰 버킷 (요청 시점에 경과 시간만큼 충전하는 방식, 별도 타이머 없음)
+ */
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(int capacity, double refillPerSecond) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity와 refillPerSecond는 0보다 커야 합니다");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * 토큰 하나 사용
+     *
+     * @return 토큰이 있었으면 true
+     */
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+-- Transactional outbox for commands sent to the queue server
+CREATE TABLE queue_outbox (
+    outbox_id       BIGINT       NOT NULL AUTO_INCREMENT,
+    idempotency_key VARCHAR(36)  NOT NULL,
+    command_type    VARCHAR(16)  NOT NULL,
+    user_id         BIGINT       NOT NULL,
+    ride_id         BIGINT       NOT NULL,
+    ticket_type     VARCHAR(16)  NOT NULL,
+    status          VARCHAR(16)  NOT NULL,
+    attempts        INT          NOT NULL DEFAULT 0,
+    last_error      VARCHAR(500) NULL,
+    next_attempt_at DATETIME(6)  NOT NULL,
+    dispatched_at   DATETIME(6)  NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (outbox_id),
+    UNIQUE KEY uk_queue_outbox_idempotency_key (idempotency_key),
+    KEY idx_queue_outbox_status (status, outbox_id)
+);
@@ -0,0 +1,7 @@
+-- Leader lease for jobs that only one instance should run
+CREATE TABLE scheduler_lease (
+    lease_name VARCHAR(64) NOT NULL,
+    owner_id   VARCHAR(64) NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (lease_name)
+);
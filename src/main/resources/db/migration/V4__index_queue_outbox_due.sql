@@ -0,0 +1,4 @@
+-- Dispatcher polls due commands and checks for earlier backed-off commands of the same user/ride
+ALTER TABLE queue_outbox
+    ADD KEY idx_queue_outbox_due (status, next_attempt_at),
+    ADD KEY idx_queue_outbox_user_ride (user_id, ride_id, status);
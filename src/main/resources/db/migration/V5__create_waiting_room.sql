@@ -0,0 +1,19 @@
+-- Ticket sale waiting rooms shared by all instances
+CREATE TABLE waiting_room (
+    ticket_management_id BIGINT      NOT NULL,
+    last_seq             BIGINT      NOT NULL DEFAULT 0,
+    admitted_seq         BIGINT      NOT NULL DEFAULT 0,
+    admitted_at          DATETIME(6) NOT NULL,
+    last_activity_at     DATETIME(6) NOT NULL,
+    PRIMARY KEY (ticket_management_id)
+);
+
+CREATE TABLE waiting_room_entry (
+    entry_id             BIGINT      NOT NULL AUTO_INCREMENT,
+    ticket_management_id BIGINT      NOT NULL,
+    user_id              BIGINT      NOT NULL,
+    seq                  BIGINT      NOT NULL,
+    created_at           DATETIME(6) NOT NULL,
+    PRIMARY KEY (entry_id),
+    UNIQUE KEY uk_waiting_room_entry_user (ticket_management_id, user_id)
+);
@@ -0,0 +1,5 @@
+-- Single-use waiting room pass: one pass per admission, consumed by the order/hold transaction
+ALTER TABLE waiting_room_entry
+    ADD COLUMN pass_id         VARCHAR(36) NULL,
+    ADD COLUMN pass_expires_at DATETIME(6) NULL,
+    ADD UNIQUE KEY uk_waiting_room_entry_pass (pass_id);
@@ -0,0 +1,12 @@
+-- Ticket hold ledger shared by all instances (stock is already deducted for every row)
+CREATE TABLE ticket_hold (
+    hold_id              VARCHAR(36) NOT NULL,
+    user_id              BIGINT      NOT NULL,
+    ticket_management_id BIGINT      NOT NULL,
+    quantity             INT         NOT NULL,
+    expires_at           DATETIME(6) NOT NULL,
+    created_at           DATETIME(6) NOT NULL,
+    PRIMARY KEY (hold_id),
+    KEY idx_ticket_hold_expires (expires_at),
+    KEY idx_ticket_hold_user (user_id, ticket_management_id)
+);
@@ -0,0 +1,3 @@
+-- ENQUEUE commands remember the ride usage they created, so a rejection discards only that reservation
+ALTER TABLE queue_outbox
+    ADD COLUMN ride_usage_id BIGINT NULL;
@@ -0,0 +1,123 @@
+package com.authserver.config;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.SubscriptionRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MultiValueMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 5만 세션 구독 조회 비교 (ExactMatchSubscriptionRegistry vs DefaultSubscriptionRegistry)
+ *
+ * 세션마다 놀이기구 상세(/sub/rides/{rideId}/info)와 사용자 대기열 상태를 하나씩 구독합니다.
+ * 사용자 대기열 상태(/user/{id}/sub/queue-status)는 브로커에 도달하기 전에 UserDestinationMessageHandler가
+ * 세션별 목적지(/sub/queue-status-user{sessionId})로 바꾸므로 저장소에는 바뀐 목적지로 등록합니다.
+ * 두 저장소의 조회 결과가 같은지 검증하고, 등록/조회 시간은 환경에 따라 달라지므로 로그로만 남깁니다.
+ */
+class ExactMatchSubscriptionRegistryBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExactMatchSubscriptionRegistryBenchmarkTest.class);
+    private static final int SESSIONS = 50_000;
+    private static final int RIDES = 50;
+    private static final int USER_LOOKUPS = 2_000;
+
+    @Test
+    void findSubscriptionsWithFiftyThousandSessions() {
+        ExactMatchSubscriptionRegistry exact = new ExactMatchSubscriptionRegistry();
+        DefaultSubscriptionRegistry defaults = new DefaultSubscriptionRegistry();
+
+        List<Message<?>> subscriptions = new ArrayList<>(SESSIONS * 2);
+        for (int i = 0; i < SESSIONS; i++) {
+            String sessionId = "s" + i;
+            subscriptions.add(subscribe(sessionId, "sub-0", "/sub/rides/" + (i % RIDES + 1) + "/info"));
+            subscriptions.add(subscribe(sessionId, "sub-1", userQueueStatus(sessionId)));
+        }
+        long exactRegisterNanos = register(exact, subscriptions);
+        long defaultRegisterNanos = register(defaults, subscriptions);
+
+        // 놀이기구 목적지 전부(목적지당 1천 세션) + 무작위 사용자 목적지(목적지당 1세션)
+        List<String> destinations = new ArrayList<>();
+        for (int rideId = 1; rideId <= RIDES; rideId++) {
+            destinations.add("/sub/rides/" + rideId + "/info");
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < USER_LOOKUPS; i++) {
+            destinations.add(userQueueStatus("s" + random.nextInt(SESSIONS)));
+        }
+        List<Message<?>> lookups = destinations.stream().map(ExactMatchSubscriptionRegistryBenchmarkTest::message).toList();
+
+        // 워밍업 겸 결과 비교
+        for (Message<?> lookup : lookups) {
+            assertThat(normalize(exact.findSubscriptions(lookup))).isEqualTo(normalize(defaults.findSubscriptions(lookup)));
+        }
+        assertThat(exact.findSubscriptions(message("/sub/rides/1/info"))).hasSize(SESSIONS / RIDES);
+
+        long exactFindNanos = find(exact, lookups);
+        long defaultFindNanos = find(defaults, lookups);
+        logger.info("구독 {}건 등록 - exact: {}ms, default: {}ms", subscriptions.size(),
+                exactRegisterNanos / 1_000_000, defaultRegisterNanos / 1_000_000);
+        logger.info("findSubscriptions {}회 - exact: {}us/op, default: {}us/op", lookups.size(),
+                exactFindNanos / lookups.size() / 1_000, defaultFindNanos / lookups.size() / 1_000);
+
+        for (int i = 0; i < SESSIONS; i++) {
+            exact.unregisterAllSubscriptions("s" + i);
+        }
+        assertThat(exact.getSessionCount()).isZero();
+        assertThat(exact.getDestinationCount()).isZero();
+    }
+
+    private static long register(SubscriptionRegistry registry, List<Message<?>> subscriptions) {
+        long start = System.nanoTime();
+        subscriptions.forEach(registry::registerSubscription);
+        return System.nanoTime() - start;
+    }
+
+    private static long find(SubscriptionRegistry registry, List<Message<?>> lookups) {
+        long start = System.nanoTime();
+        int found = 0;
+        for (Message<?> lookup : lookups) {
+            found += registry.findSubscriptions(lookup).size();
+        }
+        assertThat(found).isPositive();
+        return System.nanoTime() - start;
+    }
+
+    private static String userQueueStatus(String sessionId) {
+        return "/sub/queue-status-user" + sessionId;
+    }
+
+    private static Message<?> subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<?> message(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Map<String, Set<String>> normalize(MultiValueMap<String, String> subscriptions) {
+        Map<String, Set<String>> normalized = new TreeMap<>();
+        subscriptions.forEach((sessionId, subscriptionIds) -> normalized.put(sessionId, new TreeSet<>(subscriptionIds)));
+        return normalized;
+    }
+}
@@ -0,0 +1,93 @@
+package com.authserver.config;
+
+import com.authserver.dto.websocket.AllRidesMinutesEvent;
+import com.authserver.dto.websocket.UserQueueStatusEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JSON / CBOR / Smile 인코딩 비교
+ *
+ * 전체 놀이기구 대기 시간(/sub/rides/minutes 스냅샷)과 사용자별 대기열 상태(/user/sub/queue-status) 페이로드를
+ * WebClientConfig의 코덱과 같은 설정의 ObjectMapper로 인코딩/디코딩하여 크기, 스레드 CPU 시간, 할당 바이트를 기록합니다.
+ * 시간/할당 수치는 환경에 따라 달라지므로 로그로만 남기고, 왕복 결과와 크기만 검증합니다.
+ */
+class PayloadCodecBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayloadCodecBenchmarkTest.class);
+    private static final int WARMUP_ITERATIONS = 5_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+
+    private final Map<String, ObjectMapper> codecs = new LinkedHashMap<>();
+
+    PayloadCodecBenchmarkTest() {
+        codecs.put("json", Jackson2ObjectMapperBuilder.json().build());
+        codecs.put("cbor", Jackson2ObjectMapperBuilder.cbor().build());
+        codecs.put("smile", Jackson2ObjectMapperBuilder.smile().build());
+    }
+
+    @Test
+    void allRidesMinutesPayload() throws Exception {
+        List<AllRidesMinutesEvent.RideMinutes> rides = new ArrayList<>();
+        for (int rideId = 1; rideId <= 40; rideId++) {
+            rides.add(new AllRidesMinutesEvent.RideMinutes(rideId, (rideId * 7) % 120));
+        }
+        compare("all-rides", new AllRidesMinutesEvent(1_234, true, rides), AllRidesMinutesEvent.class);
+    }
+
+    @Test
+    void userQueueStatusPayload() throws Exception {
+        UserQueueStatusEvent status = new UserQueueStatusEvent(42L, List.of(
+                new UserQueueStatusEvent.QueueItem(3L, "자이로드롭", "GENERAL", 57, 35),
+                new UserQueueStatusEvent.QueueItem(8L, "아틀란티스", "PREMIUM", 4, 5),
+                new UserQueueStatusEvent.QueueItem(12L, "회전목마", "GENERAL", 12, 8)));
+        compare("user-status", status, UserQueueStatusEvent.class);
+    }
+
+    private <T> void compare(String payloadName, T payload, Class<T> type) throws Exception {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectMapper> codec : codecs.entrySet()) {
+            ObjectMapper mapper = codec.getValue();
+            byte[] encoded = mapper.writeValueAsBytes(payload);
+            assertThat(mapper.readValue(encoded, type)).isEqualTo(payload);
+            sizes.put(codec.getKey(), encoded.length);
+
+            run(mapper, payload, type, WARMUP_ITERATIONS);
+            Measurement measured = run(mapper, payload, type, MEASURED_ITERATIONS);
+            logger.info("{} {} - size={} bytes, cpu={} ns/op, alloc={} bytes/op", payloadName, codec.getKey(),
+                    encoded.length, measured.cpuNanos() / MEASURED_ITERATIONS,
+                    measured.allocatedBytes() / MEASURED_ITERATIONS);
+        }
+
+        // 바이너리 형식은 필드 구분자와 숫자 텍스트가 없으므로 JSON보다 작아야 함
+        assertThat(sizes.get("cbor")).isLessThan(sizes.get("json"));
+        assertThat(sizes.get("smile")).isLessThan(sizes.get("json"));
+    }
+
+    // 인코딩 후 디코딩 한 번을 iterations회 반복한 현재 스레드의 CPU 시간과 할당 바이트
+    private static <T> Measurement run(ObjectMapper mapper, T payload, Class<T> type, int iterations) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(payload), type);
+        }
+        return new Measurement(threads.getCurrentThreadCpuTime() - cpuBefore,
+                threads.getThreadAllocatedBytes(threadId) - allocatedBefore);
+    }
+
+    private record Measurement(long cpuNanos, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.authserver.controller;
+
+import com.authserver.dto.websocket.AllRidesMinutesEvent;
+import com.authserver.service.RideWaitTimeService;
+import com.authserver.service.RideWaitTimeStreamService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * 대기 시간 SSE 스트림 컨트롤러 테스트
+ *
+ * 서블릿 비동기 기본 타임아웃이 스트림에 적용되지 않는지, 연결 직후 목록과 이후 변경이 전송되는지 확인합니다.
+ */
+class RideWaitTimeStreamControllerTest {
+
+    private final RideWaitTimeService rideWaitTimeService = mock(RideWaitTimeService.class);
+    private RideWaitTimeStreamService streamService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new RideWaitTimeStreamService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(streamService, "bufferSize", 1);
+        ReflectionTestUtils.setField(streamService, "heartbeatSeconds", 15L);
+        when(rideWaitTimeService.currentMinutes())
+                .thenReturn(List.of(new AllRidesMinutesEvent.RideMinutes(1, 10)));
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new RideWaitTimeStreamController(rideWaitTimeService, streamService))
+                .setAsyncRequestTimeout(30_000)
+                .build();
+    }
+
+    @Test
+    void streamIsExemptFromAsyncRequestTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/rides/wait-times/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(-1);
+    }
+
+    @Test
+    void sendsCurrentListThenChanges() throws Exception {
+        MvcResult result = mockMvc.perform(get("/rides/wait-times/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = result.getResponse();
+
+        awaitContent(response, "\"estimatedWaitMinutes\":10");
+        streamService.publish(() -> List.of(new AllRidesMinutesEvent.RideMinutes(1, 25)));
+        awaitContent(response, "\"estimatedWaitMinutes\":25");
+
+        assertThat(response.getContentAsString()).contains("event:minutes");
+    }
+
+    private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!response.getContentAsString().contains(expected)) {
+            assertThat(System.nanoTime()).as("waiting for %s", expected).isLessThan(deadline);
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.authserver.dto.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 대기열 이벤트 파싱과 중복 판별 지문 테스트
+ */
+class QueueEventTest {
+
+    private static final long PUBLISHED_AT = 1_760_000_000_000L;
+
+    @Test
+    void parsesStreamingJsonAndIgnoresUnknownFields() throws Exception {
+        QueueEvent event = parse("{\"rideId\":3,\"userId\":7,\"type\":\"GENERAL\",\"status\":\"READY\","
+                + "\"extra\":{\"nested\":[1,2]},\"eventId\":\"e-1\"}");
+
+        assertThat(event).isEqualTo(new QueueEvent(3, 7, "GENERAL", "READY", "e-1"));
+    }
+
+    @Test
+    void rejectsEventsMissingRequiredFields() {
+        assertThatThrownBy(() -> parse("{\"rideId\":3,\"userId\":7,\"type\":\"GENERAL\"}"))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void eventIdTakesPrecedenceOverPosition() {
+        QueueEvent event = new QueueEvent(3, 7, "GENERAL", "READY", "e-1");
+
+        assertThat(event.fingerprint(0, 10, PUBLISHED_AT)).isEqualTo(event.fingerprint(2, 99, PUBLISHED_AT + 5));
+    }
+
+    @Test
+    void withoutEventIdReReadAndProducerRetryShareTheFingerprint() {
+        QueueEvent event = new QueueEvent(3, 7, "GENERAL", "READY", null);
+        long original = event.fingerprint(0, 10, PUBLISHED_AT);
+
+        // 같은 레코드를 다시 읽음 (다른 인스턴스에서도 같은 값)
+        assertThat(event.fingerprint(0, 10, PUBLISHED_AT)).isEqualTo(original);
+        // 발행 측 재시도로 다른 오프셋에 같은 레코드가 한 번 더 기록됨
+        assertThat(event.fingerprint(0, 11, PUBLISHED_AT)).isEqualTo(original);
+    }
+
+    @Test
+    void withoutEventIdLaterLegitimateRepeatIsNotADuplicate() {
+        QueueEvent event = new QueueEvent(3, 7, "GENERAL", "READY", null);
+
+        assertThat(event.fingerprint(0, 20, PUBLISHED_AT + 60_000)).isNotEqualTo(event.fingerprint(0, 10, PUBLISHED_AT));
+        assertThat(new QueueEvent(3, 7, "GENERAL", "ALMOST_READY", null).fingerprint(0, 10, PUBLISHED_AT))
+                .isNotEqualTo(event.fingerprint(0, 10, PUBLISHED_AT));
+    }
+
+    @Test
+    void withoutTimestampFallsBackToPosition() {
+        QueueEvent event = new QueueEvent(3, 7, "GENERAL", "READY", null);
+
+        assertThat(event.fingerprint(0, 10, -1)).isEqualTo(event.fingerprint(0, 10, -1));
+        assertThat(event.fingerprint(0, 11, -1)).isNotEqualTo(event.fingerprint(0, 10, -1));
+    }
+
+    private static QueueEvent parse(String json) throws Exception {
+        return QueueEvent.parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,125 @@
+package com.authserver.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리더 선출 장애 전환 테스트
+ *
+ * 두 LeaderElectionService가 하나의 InMemoryLeaseStore를 공유하고, 스케줄러 대신 테스트가 renew-interval마다 renew()를 호출합니다.
+ * 리더가 연장을 멈추면 다른 노드가 lease-ms + renew-interval-ms 안에 이어받아야 하며, 어느 시점에도 두 노드가 함께 리더이면 안 됩니다.
+ */
+class LeaderElectionServiceTest {
+
+    private static final long LEASE_MS = 300;
+    private static final long RENEW_INTERVAL_MS = 100;
+    // 테스트 스레드의 sleep/스케줄링 오차 허용치
+    private static final long JITTER_MS = 50;
+
+    private final InMemoryLeaseStore leaseStore = new InMemoryLeaseStore();
+    private final MeterRegistry registryA = new SimpleMeterRegistry();
+    private final MeterRegistry registryB = new SimpleMeterRegistry();
+    private LeaderElectionService nodeA;
+    private LeaderElectionService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new LeaderElectionService(leaseStore, registryA, true, LEASE_MS, "node-a");
+        nodeB = new LeaderElectionService(leaseStore, registryB, true, LEASE_MS, "node-b");
+    }
+
+    @Test
+    void onlyOneNodeIsLeader() throws Exception {
+        nodeA.renew();
+        nodeB.renew();
+
+        for (int i = 0; i < 5; i++) {
+            assertSingleLeader();
+            TimeUnit.MILLISECONDS.sleep(RENEW_INTERVAL_MS);
+            nodeB.renew();
+            nodeA.renew();
+        }
+        assertThat(nodeA.isLeader()).isTrue();
+        assertThat(nodeB.isLeader()).isFalse();
+        assertThat(transitions(registryA, "acquired")).isEqualTo(1);
+        assertThat(transitions(registryB, "acquired")).isZero();
+    }
+
+    @Test
+    void otherNodeTakesOverWithinLeasePlusRenewInterval() throws Exception {
+        nodeA.renew();
+        nodeB.renew();
+        assertThat(nodeA.isLeader()).isTrue();
+
+        // 리더가 연장을 멈춤 (마지막 연장 시각부터 측정)
+        nodeA.renew();
+        long stoppedAt = System.nanoTime();
+        long takenOverAt = 0;
+        while (takenOverAt == 0) {
+            TimeUnit.MILLISECONDS.sleep(RENEW_INTERVAL_MS);
+            nodeB.renew();
+            assertThat(nodeA.isLeader() && nodeB.isLeader()).as("두 노드가 함께 리더").isFalse();
+            if (nodeB.isLeader()) {
+                takenOverAt = System.nanoTime();
+            }
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stoppedAt))
+                    .isLessThanOrEqualTo(LEASE_MS + RENEW_INTERVAL_MS + JITTER_MS);
+        }
+        assertThat(nodeA.isLeader()).isFalse();
+
+        // 멈췄던 노드가 다시 연장을 시도하면 상실을 기록
+        nodeA.renew();
+        assertThat(nodeA.isLeader()).isFalse();
+        assertSingleLeader();
+
+        assertThat(transitions(registryA, "acquired")).isEqualTo(1);
+        assertThat(transitions(registryA, "lost")).isEqualTo(1);
+        assertThat(transitions(registryB, "acquired")).isEqualTo(1);
+        assertThat(transitions(registryB, "lost")).isZero();
+        assertThat(gauge(registryA)).isZero();
+        assertThat(gauge(registryB)).isEqualTo(1);
+    }
+
+    @Test
+    void resignedLeaseIsTakenOverOnNextRenew() {
+        nodeA.renew();
+        nodeB.renew();
+        assertThat(nodeA.isLeader()).isTrue();
+
+        nodeA.resign();
+        nodeB.renew();
+
+        assertThat(nodeA.isLeader()).isFalse();
+        assertThat(nodeB.isLeader()).isTrue();
+        assertThat(transitions(registryB, "acquired")).isEqualTo(1);
+    }
+
+    @Test
+    void disabledElectionIsAlwaysLeader() {
+        LeaderElectionService single = new LeaderElectionService(leaseStore, new SimpleMeterRegistry(), false, LEASE_MS, "");
+
+        single.renew();
+
+        assertThat(single.isLeader()).isTrue();
+        assertThat(single.isClustered()).isFalse();
+    }
+
+    private void assertSingleLeader() {
+        assertThat(List.of(nodeA.isLeader(), nodeB.isLeader())).containsOnlyOnce(true);
+    }
+
+    private static double transitions(MeterRegistry registry, String to) {
+        return registry.get("scheduler.leader.transitions").tag("to", to).counter().count();
+    }
+
+    private static double gauge(MeterRegistry registry) {
+        return registry.get("scheduler.leader").gauge().value();
+    }
+}
@@ -0,0 +1,162 @@
+package com.authserver.service;
+
+import com.authserver.dto.websocket.QueueEventBatchMessage;
+import com.authserver.dto.websocket.QueueEventMessage;
+import com.authserver.util.EventLogSampler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 대기열 이벤트 배치 소비와 건별 소비 처리량 비교
+ *
+ * READY 폭주(사용자마다 ALMOST_READY 직후 READY)를 Kafka 없이 배치 리스너(consumeQueueEvents)와
+ * 건별 경로(consumeQueueEvent)로 각각 흘려 보내고, 처리 시간과 전송 횟수를 기록합니다.
+ * 전송은 실제처럼 페이로드를 JSON으로 직렬화하는 비용만 남긴 중계기로 대신합니다.
+ * 처리 시간은 환경에 따라 달라지므로 로그로만 남기고, 모든 사용자가 마지막에 READY를 받는지와 전송 횟수만 검증합니다.
+ */
+class QueueEventConsumerBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueEventConsumerBenchmarkTest.class);
+    private static final String TOPIC = "queue-event-topic";
+    private static final int USERS = 10_000;
+    private static final int RIDES = 20;
+    private static final int POLL_SIZE = 500;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong sends = new AtomicLong();
+    private final Map<Long, String> lastStatusByUser = new ConcurrentHashMap<>();
+    private QueueEventConsumerService service;
+
+    @BeforeEach
+    void setUp() {
+        UserMessageRelay relay = mock(UserMessageRelay.class, withSettings().stubOnly().defaultAnswer(this::recordSend));
+        RideCatalog rideCatalog = mock(RideCatalog.class, withSettings().stubOnly());
+        when(rideCatalog.findName(anyLong())).thenReturn(Optional.of("놀이기구"));
+        EventLogSampler eventLog = new EventLogSampler(
+                new MockEnvironment().withProperty("logging.event-sampling.queue-event", "0"));
+
+        service = new QueueEventConsumerService(relay, rideCatalog, eventLog, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "dedupeWindowSize", 16_384);
+        ReflectionTestUtils.setField(service, "dedupeRetentionMs", 600_000L);
+        ReflectionTestUtils.setField(service, "laneCount", 8);
+        service.startLanes();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stopLanes();
+    }
+
+    @Test
+    void batchPathDeliversBurstWithFewerSends() {
+        // 워밍업
+        runBatch(burst(0));
+        runPerRecord(burst(1));
+
+        List<byte[]> batchBurst = burst(2);
+        long batchSends = sends.get();
+        long batchNanos = runBatch(batchBurst);
+        batchSends = sends.get() - batchSends;
+        assertAllReady();
+
+        lastStatusByUser.clear();
+        List<byte[]> perRecordBurst = burst(3);
+        long perRecordSends = sends.get();
+        long perRecordNanos = runPerRecord(perRecordBurst);
+        perRecordSends = sends.get() - perRecordSends;
+        assertAllReady();
+
+        logger.info("READY 폭주 {}건 - 배치: {}ms ({} events/s, 전송 {}회), 건별: {}ms ({} events/s, 전송 {}회)",
+                batchBurst.size(),
+                batchNanos / 1_000_000, eventsPerSecond(batchBurst.size(), batchNanos), batchSends,
+                perRecordNanos / 1_000_000, eventsPerSecond(perRecordBurst.size(), perRecordNanos), perRecordSends);
+
+        // 건별 경로는 이벤트마다, 배치 경로는 배치 안의 사용자마다 한 번 전송
+        assertThat(perRecordSends).isEqualTo(perRecordBurst.size());
+        assertThat(batchSends).isLessThan(perRecordSends);
+    }
+
+    private long runBatch(List<byte[]> burst) {
+        long start = System.nanoTime();
+        for (int from = 0; from < burst.size(); from += POLL_SIZE) {
+            List<ConsumerRecord<String, byte[]>> records = new ArrayList<>(POLL_SIZE);
+            for (int offset = from; offset < Math.min(from + POLL_SIZE, burst.size()); offset++) {
+                records.add(new ConsumerRecord<>(TOPIC, 0, offset, null, burst.get(offset)));
+            }
+            service.consumeQueueEvents(records);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long runPerRecord(List<byte[]> burst) {
+        long start = System.nanoTime();
+        for (byte[] payload : burst) {
+            service.consumeQueueEvent(new String(payload, StandardCharsets.UTF_8));
+        }
+        return System.nanoTime() - start;
+    }
+
+    // 사용자마다 같은 놀이기구의 ALMOST_READY 직후 READY (round로 eventId를 달리하여 중복 판별에 걸리지 않게 함)
+    private List<byte[]> burst(int round) {
+        List<byte[]> events = new ArrayList<>(USERS * 2);
+        for (long userId = 1; userId <= USERS; userId++) {
+            long rideId = 1 + userId % RIDES;
+            events.add(event(round, userId, rideId, "ALMOST_READY"));
+            events.add(event(round, userId, rideId, "READY"));
+        }
+        return events;
+    }
+
+    private static byte[] event(int round, long userId, long rideId, String status) {
+        return ("{\"rideId\":" + rideId + ",\"userId\":" + userId + ",\"type\":\"GENERAL\",\"status\":\"" + status
+                + "\",\"eventId\":\"" + round + "-" + userId + "-" + status + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Object recordSend(InvocationOnMock invocation) throws Exception {
+        if (!"sendToUser".equals(invocation.getMethod().getName())) {
+            return null;
+        }
+        Long userId = invocation.getArgument(0);
+        Object payload = invocation.getArgument(2);
+        objectMapper.writeValueAsBytes(payload);
+        sends.incrementAndGet();
+        if (payload instanceof QueueEventMessage message) {
+            lastStatusByUser.put(userId, message.status());
+        } else if (payload instanceof QueueEventBatchMessage batch) {
+            lastStatusByUser.put(userId, batch.events().get(batch.events().size() - 1).status());
+        }
+        return null;
+    }
+
+    private void assertAllReady() {
+        assertThat(lastStatusByUser).hasSize(USERS);
+        assertThat(lastStatusByUser.values()).containsOnly("READY");
+    }
+
+    private static long eventsPerSecond(int events, long nanos) {
+        return nanos == 0 ? 0 : events * 1_000_000_000L / nanos;
+    }
+}
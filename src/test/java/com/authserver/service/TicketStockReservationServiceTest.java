@@ -0,0 +1,180 @@
+package com.authserver.service;
+
+import com.authserver.repository.TicketManagementRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 티켓 재고 예약 동시성 테스트
+ *
+ * DB 재고는 조건부 UPDATE와 롤백을 흉내 내는 메모리 값으로 대신하고, 트랜잭션 동기화는 실제 TransactionTemplate으로 구동합니다.
+ */
+class TicketStockReservationServiceTest {
+
+    private static final Long TICKET_MANAGEMENT_ID = 1L;
+
+    private final AtomicInteger databaseStock = new AtomicInteger();
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+    private TicketStockReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        TicketManagementRepository repository = mock(TicketManagementRepository.class);
+        when(repository.findStockById(anyLong())).thenAnswer(invocation -> Optional.of(databaseStock.get()));
+        when(repository.decrementStock(anyLong(), anyInt())).thenAnswer(invocation -> {
+            int quantity = invocation.getArgument(1);
+            int current;
+            do {
+                current = databaseStock.get();
+                if (current < quantity) {
+                    return 0;
+                }
+            } while (!databaseStock.compareAndSet(current, current - quantity));
+            // 롤백되면 차감 취소
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        databaseStock.addAndGet(quantity);
+                    }
+                }
+            });
+            return 1;
+        });
+        when(repository.incrementStock(anyLong(), anyInt())).thenAnswer(invocation -> {
+            databaseStock.addAndGet(invocation.<Integer>getArgument(1));
+            return 1;
+        });
+
+        service = new TicketStockReservationService(repository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "idleEvictMs", 600_000L);
+    }
+
+    @Test
+    void concurrentPurchasesNeverOversell() throws Exception {
+        int stock = 5_000;
+        int attempts = 40_000;
+        int threads = 32;
+        databaseStock.set(stock);
+
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(attempts);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // 구매와 동시에 보정 작업도 계속 실행
+        Thread reconciler = new Thread(() -> {
+            while (running.get()) {
+                service.reconcile();
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                while (remaining.getAndDecrement() > 0) {
+                    // 일부는 주문 저장 단계에서 실패하여 롤백
+                    boolean fail = ThreadLocalRandom.current().nextInt(10) == 0;
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            service.reserve(TICKET_MANAGEMENT_ID, 1);
+                            if (fail) {
+                                throw new IllegalArgumentException("주문 저장 실패");
+                            }
+                        });
+                        sold.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        rejected.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        // 롤백된 주문
+                    }
+                }
+                return null;
+            });
+        }
+
+        long startNanos = System.nanoTime();
+        reconciler.start();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        running.set(false);
+        reconciler.join();
+
+        assertThat(sold.get()).isEqualTo(stock);
+        assertThat(databaseStock.get()).isZero();
+        assertThat(rejected.get()).isPositive();
+        // 초당 수천 건 이상의 구매 시도를 처리했는지 확인
+        assertThat(attempts * 1000L / elapsedMillis).isGreaterThan(2_000);
+
+        service.reconcile();
+        transactionTemplate.executeWithoutResult(status -> service.release(TICKET_MANAGEMENT_ID, 3));
+        assertThat(databaseStock.get()).isEqualTo(3);
+        for (int i = 0; i < 3; i++) {
+            transactionTemplate.executeWithoutResult(status -> service.reserve(TICKET_MANAGEMENT_ID, 1));
+        }
+        assertThat(databaseStock.get()).isZero();
+    }
+
+    @Test
+    void reconcileRestoresUnitsReleasedElsewhere() {
+        databaseStock.set(1);
+        transactionTemplate.executeWithoutResult(status -> service.reserve(TICKET_MANAGEMENT_ID, 1));
+        assertThat(databaseStock.get()).isZero();
+
+        // 다른 인스턴스가 반환한 재고는 보정 후 메모리 재고에도 반영됨
+        databaseStock.addAndGet(2);
+        service.reconcile();
+        transactionTemplate.executeWithoutResult(status -> service.reserve(TICKET_MANAGEMENT_ID, 2));
+        assertThat(databaseStock.get()).isZero();
+    }
+
+    /**
+     * 트랜잭션 동기화 콜백만 구동하는 트랜잭션 관리자
+     */
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
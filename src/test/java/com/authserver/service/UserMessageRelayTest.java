@@ -0,0 +1,241 @@
+package com.authserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 여러 노드 간 사용자 메시지 중계 테스트
+ *
+ * 한 JVM 안에 노드 여러 개를 띄우고, Kafka 대신 발행 순서대로 기록했다가 모든 노드의 리스너에 전달하는 메모리 토픽을 둡니다.
+ * 각 노드의 브로커 전송은 채널에 기록하여 어느 노드의 어느 사용자 목적지로 몇 번 나갔는지 확인합니다.
+ */
+class UserMessageRelayTest {
+
+    private static final String TOPIC = "websocket-user-relay-topic";
+    private static final String DESTINATION = LiveSubscriptionRegistry.USER_QUEUE_STATUS_DESTINATION;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final InMemoryTopic topic = new InMemoryTopic();
+    private final List<Node> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (String nodeId : List.of("node-a", "node-b", "node-c")) {
+            nodes.add(new Node(nodeId));
+        }
+    }
+
+    @Test
+    void userConnectedToAnotherNodeReceivesMessageOnce() throws Exception {
+        node(2).connect(7L);
+        Map<String, Object> payload = Map.of("userId", 7, "status", "READY");
+
+        node(0).relay.sendToUser(7L, DESTINATION, payload);
+        topic.deliverToAll();
+
+        assertThat(node(0).sent()).isEmpty();
+        assertThat(node(1).sent()).isEmpty();
+        assertThat(node(2).sent()).hasSize(1);
+        Message<?> delivered = node(2).sent().get(0);
+        assertThat(SimpMessageHeaderAccessor.getDestination(delivered.getHeaders())).isEqualTo("/user/7" + DESTINATION);
+        assertThat((byte[]) delivered.getPayload()).isEqualTo(objectMapper.writeValueAsBytes(payload));
+    }
+
+    @Test
+    void originNodeSendsLocallyAndSkipsItsOwnRelayedCopy() {
+        node(0).connect(7L);
+
+        node(0).relay.sendToUser(7L, DESTINATION, Map.of("status", "READY"));
+        assertThat(node(0).sent()).hasSize(1);
+
+        topic.deliverToAll();
+        assertThat(node(0).sent()).hasSize(1);
+        assertThat(node(1).sent()).isEmpty();
+        assertThat(node(2).sent()).isEmpty();
+    }
+
+    @Test
+    void userWithSessionsOnSeveralNodesReceivesOncePerNode() {
+        node(0).connect(7L);
+        node(2).connect(7L);
+
+        node(1).relay.sendToUser(7L, DESTINATION, Map.of("status", "ALMOST_READY"));
+        topic.deliverToAll();
+
+        assertThat(node(0).sent()).hasSize(1);
+        assertThat(node(1).sent()).isEmpty();
+        assertThat(node(2).sent()).hasSize(1);
+    }
+
+    @Test
+    void staleRelayedMessagesAreNotDelivered() {
+        node(1).connect(7L);
+
+        node(0).relay.sendToUser(7L, DESTINATION, Map.of("status", "READY"));
+        topic.deliverToAll(System.currentTimeMillis() - 60_000);
+
+        assertThat(node(1).sent()).isEmpty();
+    }
+
+    @Test
+    void concurrentSendersDeliverEveryMessageExactlyOncePerConnectedNode() throws Exception {
+        int users = 300;
+        int messagesPerUser = 5;
+        for (long userId = 1; userId <= users; userId++) {
+            // 사용자마다 한 노드, 일부는 두 노드에 연결
+            node((int) (userId % 3)).connect(userId);
+            if (userId % 10 == 0) {
+                node((int) ((userId + 1) % 3)).connect(userId);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(nodes.size());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Node sender : nodes) {
+                futures.add(executor.submit(() -> {
+                    for (long userId = 1; userId <= users; userId++) {
+                        for (int i = 0; i < messagesPerUser; i++) {
+                            sender.relay.sendToUser(userId, DESTINATION, Map.of("userId", userId, "n", i));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        topic.deliverToAll();
+
+        int sendersPerMessage = nodes.size();
+        for (Node node : nodes) {
+            Map<String, Integer> perDestination = new ConcurrentHashMap<>();
+            node.sent().forEach(message -> perDestination.merge(
+                    SimpMessageHeaderAccessor.getDestination(message.getHeaders()), 1, Integer::sum));
+            for (long userId = 1; userId <= users; userId++) {
+                int expected = node.isConnected(userId) ? messagesPerUser * sendersPerMessage : 0;
+                assertThat(perDestination.getOrDefault("/user/" + userId + DESTINATION, 0))
+                        .as("%s, userId=%d", node.nodeId, userId)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    private Node node(int index) {
+        return nodes.get(index);
+    }
+
+    /**
+     * 노드 하나: 자기 브로커 채널, 자기 세션 목록, 메모리 토픽에 발행하는 중계기
+     */
+    private final class Node {
+
+        private final String nodeId;
+        private final Set<String> localUsers = ConcurrentHashMap.newKeySet();
+        private final List<Message<?>> brokerMessages = new CopyOnWriteArrayList<>();
+        private final UserMessageRelay relay;
+
+        @SuppressWarnings("unchecked")
+        private Node(String nodeId) {
+            this.nodeId = nodeId;
+            MessageChannel brokerChannel = (message, timeout) -> brokerMessages.add(message);
+            BroadcastPublisher publisher = new BroadcastPublisher(
+                    new SimpMessagingTemplate(brokerChannel), objectMapper, new SimpleMeterRegistry());
+
+            SimpUserRegistry userRegistry = mock(SimpUserRegistry.class);
+            when(userRegistry.getUser(anyString())).thenAnswer(invocation ->
+                    localUsers.contains(invocation.<String>getArgument(0)) ? mock(SimpUser.class) : null);
+
+            KafkaTemplate<String, byte[]> template = mock(KafkaTemplate.class);
+            when(template.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+                topic.append(invocation.getArgument(0));
+                return CompletableFuture.completedFuture(null);
+            });
+
+            relay = new UserMessageRelay(publisher, userRegistry, mock(ObjectProvider.class), mock(ObjectProvider.class),
+                    new SimpleMeterRegistry(), nodeId);
+            ReflectionTestUtils.setField(relay, "relayEnabled", true);
+            ReflectionTestUtils.setField(relay, "relayTopic", TOPIC);
+            ReflectionTestUtils.setField(relay, "maxAgeMs", 30_000L);
+            ReflectionTestUtils.setField(relay, "relayTemplate", template);
+            topic.subscribe(relay);
+        }
+
+        private void connect(Long userId) {
+            localUsers.add(String.valueOf(userId));
+        }
+
+        private boolean isConnected(Long userId) {
+            return localUsers.contains(String.valueOf(userId));
+        }
+
+        private List<Message<?>> sent() {
+            return brokerMessages;
+        }
+    }
+
+    /**
+     * Kafka 대신 쓰는 단일 파티션 토픽: 발행된 레코드를 순서대로 쌓고, 노드별 컨슈머 그룹처럼 모든 구독 노드에 전부 전달
+     */
+    private static final class InMemoryTopic {
+
+        private final List<ProducerRecord<String, byte[]>> log = new ArrayList<>();
+        private final List<UserMessageRelay> subscribers = new ArrayList<>();
+
+        private synchronized void append(ProducerRecord<String, byte[]> record) {
+            log.add(record);
+        }
+
+        private void subscribe(UserMessageRelay relay) {
+            subscribers.add(relay);
+        }
+
+        private void deliverToAll() {
+            deliverToAll(System.currentTimeMillis());
+        }
+
+        private synchronized void deliverToAll(long timestamp) {
+            List<ConsumerRecord<String, byte[]>> batch = new ArrayList<>();
+            for (int offset = 0; offset < log.size(); offset++) {
+                ProducerRecord<String, byte[]> record = log.get(offset);
+                batch.add(new ConsumerRecord<>(record.topic(), 0, offset, timestamp, TimestampType.CREATE_TIME,
+                        -1, record.value().length, record.key(), record.value(), record.headers(), Optional.empty()));
+            }
+            subscribers.forEach(relay -> relay.consumeRelayedMessages(batch));
+        }
+    }
+}
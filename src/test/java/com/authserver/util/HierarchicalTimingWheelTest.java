@@ -0,0 +1,155 @@
+package com.authserver.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 계층형 타이밍 휠 테스트
+ *
+ * tick 10ms, 휠 크기 4로 1단 휠 범위를 40ms로 작게 두어 상위 휠(160ms, 640ms, ...)과 하위 휠로의 재배치를 짧은 시간 안에 확인합니다.
+ * 만료는 만료 시각이 속한 tick 칸이 끝나는 시각(deadline - deadline % tick + tick)에 감지되어야 합니다.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+    private static final int WHEEL_SIZE = 4;
+
+    private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, 0);
+
+    @Test
+    void expiresAtTheEndOfItsLevelZeroSlot() {
+        wheel.schedule("before-boundary", 9);
+        wheel.schedule("on-boundary", 10);
+
+        assertThat(wheel.advance(9)).isEmpty();
+        assertThat(wheel.advance(10)).containsExactly("before-boundary");
+        assertThat(wheel.advance(19)).isEmpty();
+        assertThat(wheel.advance(20)).containsExactly("on-boundary");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void deadlineBeyondFirstWheelCascadesDownAndExpiresOnTime() {
+        // 40ms 이상은 상위 휠: 125는 2단(160ms 범위), 1000은 4단(2560ms 범위)
+        wheel.schedule("level-1", 125);
+        wheel.schedule("level-3", 1_000);
+        assertThat(wheel.size()).isEqualTo(2);
+
+        Map<String, Long> expiredAt = advanceByMillis(0, 1_100);
+
+        assertThat(expiredAt).containsEntry("level-1", 130L).containsEntry("level-3", 1_010L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void randomDeadlinesExpireInTheirOwnTick() {
+        Random random = new Random(42);
+        Map<String, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = random.nextInt(5_000);
+            deadlines.put("item-" + i, deadline);
+            wheel.schedule("item-" + i, deadline);
+        }
+
+        Map<String, Long> expiredAt = advanceByMillis(0, 5_100);
+
+        assertThat(expiredAt).hasSameSizeAs(deadlines);
+        deadlines.forEach((item, deadline) ->
+                assertThat(expiredAt.get(item)).as(item).isEqualTo(deadline - deadline % TICK + TICK));
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelBeforeCascade() {
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("cancelled", 125);
+        wheel.schedule("kept", 126);
+
+        timeout.cancel();
+
+        assertThat(advanceByMillis(0, 200)).containsOnlyKeys("kept");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelAfterCascade() {
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("cancelled", 125);
+        wheel.schedule("kept", 126);
+
+        // 120ms에 2단 휠 칸 [120, 160)이 1단 휠로 내려옴
+        assertThat(wheel.advance(120)).isEmpty();
+        timeout.cancel();
+
+        assertThat(wheel.advance(200)).containsExactly("kept");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastDeadlineGoesToOverdueAndExpiresOnNextAdvance() {
+        wheel.advance(100);
+
+        wheel.schedule("late", 50);
+        assertThat(wheel.size()).isEqualTo(1);
+
+        // 시간이 흐르지 않아도 다음 advance에서 만료
+        assertThat(wheel.advance(100)).containsExactly("late");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void largeAdvanceJumpExpiresEverythingAndKeepsWorking() {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add("item-" + i);
+            wheel.schedule("item-" + i, i * 97L);
+        }
+
+        assertThat(wheel.advance(1_000_000)).containsExactlyInAnyOrderElementsOf(items);
+        assertThat(wheel.size()).isZero();
+
+        wheel.schedule("after-jump", 1_000_005);
+        assertThat(wheel.advance(1_000_009)).isEmpty();
+        assertThat(wheel.advance(1_000_010)).containsExactly("after-jump");
+    }
+
+    @Test
+    void sizeCountsCancelledItemsUntilTheirSlotIsDrained() {
+        wheel.schedule("a", 15);
+        HierarchicalTimingWheel.Timeout<String> b = wheel.schedule("b", 15);
+        wheel.schedule("c", 300);
+        b.cancel();
+        assertThat(wheel.size()).isEqualTo(3);
+
+        assertThat(wheel.advance(20)).containsExactly("a");
+        assertThat(wheel.size()).isEqualTo(1);
+
+        assertThat(wheel.advance(310)).containsExactly("c");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(0, WHEEL_SIZE, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(TICK, 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // from부터 to까지 1ms씩 진행하며 항목별 만료가 감지된 시각 기록
+    private Map<String, Long> advanceByMillis(long from, long to) {
+        Map<String, Long> expiredAt = new HashMap<>();
+        for (long now = from; now <= to; now++) {
+            for (String item : wheel.advance(now)) {
+                assertThat(expiredAt.put(item, now)).as("%s expired twice", item).isNull();
+            }
+        }
+        return expiredAt;
+    }
+}